@@ -1,6 +1,14 @@
 package callisto;
 
+import callisto.logic.SolverSettings;
+import callisto.model.DeductionCache;
+import callisto.model.IdDictionary;
 import callisto.model.MutationReport;
+import callisto.model.MutationReportHelper;
+import callisto.model.MutationReportReader;
+import callisto.model.ReportCache;
+import callisto.model.ReportProjection;
+import callisto.model.TestIdsDeserializer;
 import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.tinylog.Logger;
@@ -12,7 +20,11 @@ import picocli.CommandLine.Option;
 import java.io.File;
 import java.io.IOException;
 import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 @Command(name = "callisto", description = "Calculate the quality of mutators", subcommands = {Callisto.RunCommand.class, Callisto.TestCommand.class, Callisto.MergeCommand.class, CommandLine.HelpCommand.class})
 public class Callisto {
@@ -32,6 +44,27 @@ public class Callisto {
         @Option(names = {"-s", "--solver"}, description = "Solver to use")
         private String solver = "GLOP";
 
+        @Option(names = {"-w", "--workers"}, description = "Number of search workers for solver CPSAT")
+        private int workers = 0;
+
+        @Option(names = {"--time-limit"}, description = "Time limit in seconds for solving one model")
+        private double timeLimit = 0;
+
+        @Option(names = {"-a", "--approximate"}, description = "Minimalize greedily without solver and report the worst-case gap")
+        private boolean approximate = false;
+
+        @Option(names = {"--deduction-cache"}, description = "File to keep deduced mutation operators in between runs")
+        private String deductionCache;
+
+        @Option(names = {"--no-report-cache"}, description = "Do not read or write the binary cache of the input reports")
+        private boolean noReportCache = false;
+
+        @Option(names = {"--report-cache-dir"}, description = "Directory to keep the binary cache of the input reports in, by default callisto in the user cache directory")
+        private String reportCacheDirectory;
+
+        @Option(names = {"--mapped-matrices"}, description = "Keep the kill and coverage matrices in memory-mapped files instead of on the heap, without report cache")
+        private boolean mappedMatrices = false;
+
         @Option(names = {"-v", "--verbose"}, description = "Enable verbose logging")
         private boolean isVerbose = false;
 
@@ -41,9 +74,18 @@ public class Callisto {
         @Option(names = {"-t", "--static"}, description = "Include static mutants")
         private boolean useStatic = false;
 
+        @Option(names = {"--threads"}, description = "Number of threads to evaluate mutation operators in parallel")
+        private int threads = 1;
+
+        @Option(names = {"--reports"}, description = "Number of reports to analyse concurrently")
+        private int concurrentReports = 1;
+
+        @Option(names = {"--memory-budget"}, description = "Memory in MB that concurrently analysed reports may use, by default 3/4 of the maximum heap size")
+        private long memoryBudget = Runtime.getRuntime().maxMemory() / 4 * 3 / (1024 * 1024);
+
         @Override
         public void run() {
-            callisto.commands.RunCommand.run(inputFiles, outputFile, solver, usekilledOnly, useStatic);
+            callisto.commands.RunCommand.run(inputFiles, outputFile, new SolverSettings(solver, workers, timeLimit, approximate), usekilledOnly, useStatic, threads, concurrentReports, memoryBudget * 1024 * 1024, deductionCache, getReportCacheDirectory(noReportCache, reportCacheDirectory), mappedMatrices, isVerbose);
         }
     }
 
@@ -61,12 +103,33 @@ public class Callisto {
         @Option(names = {"-s", "--solver"}, description = "Solver to use")
         private String solver = "GLOP";
 
+        @Option(names = {"-w", "--workers"}, description = "Number of search workers for solver CPSAT")
+        private int workers = 0;
+
+        @Option(names = {"--time-limit"}, description = "Time limit in seconds for solving one model")
+        private double timeLimit = 0;
+
+        @Option(names = {"-a", "--approximate"}, description = "Minimalize greedily without solver and report the worst-case gap")
+        private boolean approximate = false;
+
+        @Option(names = {"--deduction-cache"}, description = "File to keep deduced mutation operators in between runs")
+        private String deductionCache;
+
+        @Option(names = {"--no-report-cache"}, description = "Do not read or write the binary cache of the input reports")
+        private boolean noReportCache = false;
+
+        @Option(names = {"--report-cache-dir"}, description = "Directory to keep the binary cache of the input reports in, by default callisto in the user cache directory")
+        private String reportCacheDirectory;
+
+        @Option(names = {"--mapped-matrices"}, description = "Keep the kill and coverage matrices in memory-mapped files instead of on the heap, without report cache")
+        private boolean mappedMatrices = false;
+
         @Option(names = {"-v", "--verbose"}, description = "Enable verbose logging")
         private boolean verbose = false;
 
         @Override
         public void run() {
-            callisto.commands.TestCommand.run(levelFile, inputFile, outputFile, solver, verbose);
+            callisto.commands.TestCommand.run(levelFile, inputFile, outputFile, new SolverSettings(solver, workers, timeLimit, approximate), deductionCache, getReportCacheDirectory(noReportCache, reportCacheDirectory), mappedMatrices, verbose);
         }
     }
 
@@ -83,7 +146,7 @@ public class Callisto {
 
         @Override
         public void run() {
-            System.out.println("The merge command has not been implemented yet...");
+            callisto.commands.MergeCommand.run(inputFiles, outputFile, verbose);
         }
     }
 
@@ -96,19 +159,114 @@ public class Callisto {
     }
 
     public static MutationReport parseReport(String filePath) {
+        return parseReport(filePath, false);
+    }
+
+    /**
+     * @param projection whether to only bind the parts of the report that {@code run} and {@code test} use. The
+     *                   mutation operators of every file of a projected report are deduced as soon as the file is
+     *                   read, and its source is dropped once deduced, see {@link ReportProjection}
+     */
+    public static MutationReport parseReport(String filePath, boolean projection) {
         File inputFile = new File(filePath);
         ObjectMapper objectMapper = new ObjectMapper();
         objectMapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+        if (projection) {
+            ReportProjection.apply(objectMapper);
+        }
+        // the test ids of the mutants are read into indices of this dictionary
+        IdDictionary testIds = new IdDictionary();
+        List<CompletableFuture<String>> deductions = new ArrayList<>();
         MutationReport mutationReport;
         try {
-            mutationReport = objectMapper.readValue(inputFile, MutationReport.class);
+            mutationReport = objectMapper.readerFor(MutationReport.class)
+                    .withAttribute(TestIdsDeserializer.TEST_IDS, testIds)
+                    .withAttribute(ReportProjection.DEDUCTIONS, deductions)
+                    .readValue(inputFile);
         } catch (IOException e) {
             throw new RuntimeException(e);
         }
-        mutationReport.initialize();
+        // diagnostics for unknown mutations in file order
+        for (CompletableFuture<String> deduction : deductions) {
+            System.out.print(deduction.join());
+        }
+        mutationReport.initialize(testIds);
         return mutationReport;
     }
 
+    /**
+     * Reads a report without binding it to the full report schema. The mutation operators of the resulting report
+     * are already deduced and its matrices already built.
+     */
+    public static MutationReport streamReport(String filePath) {
+        return MutationReportReader.read(filePath);
+    }
+
+    /**
+     * @return the directory to keep report caches in, or null if reports are not cached
+     */
+    private static Path getReportCacheDirectory(boolean noReportCache, String reportCacheDirectory) {
+        if (noReportCache) {
+            return null;
+        }
+        return reportCacheDirectory != null ? Paths.get(reportCacheDirectory) : ReportCache.getDefaultDirectory();
+    }
+
+    /**
+     * Same as {@link #streamReport(String)}, but reuses the binary cache of the report in the cache directory when
+     * the content of the report has not changed since the cache was written, and writes the cache otherwise. The
+     * diagnostics of a cached report are printed as if it was read.
+     *
+     * @param cacheDirectory the directory of the report caches, or null to not use a cache
+     * @param mappedMatrices whether to build the matrices in memory-mapped files instead of on the heap. The cache is
+     *                       not used then, as it holds sparse matrices that would have to be on the heap
+     */
+    public static MutationReport streamReport(String filePath, Path cacheDirectory, boolean mappedMatrices) {
+        if (cacheDirectory == null || mappedMatrices) {
+            return MutationReportReader.read(filePath, mappedMatrices);
+        }
+        byte[] hash = ReportCache.hash(filePath);
+        Path cachePath = ReportCache.getCachePath(cacheDirectory, filePath);
+        MutationReport cached = ReportCache.read(cachePath, hash);
+        if (cached != null) {
+            System.out.print(cached.getDeductionDiagnostics());
+            return cached;
+        }
+        MutationReport report = streamReport(filePath);
+        try {
+            ReportCache.write(cachePath, hash, report);
+        } catch (IOException e) {
+            System.err.printf("WARNING: Could not write report cache %s: %s%n", cachePath, e.getMessage());
+        }
+        return report;
+    }
+
+    /**
+     * Loads the deduction cache saved by an earlier run, if a cache file is given.
+     */
+    public static void loadDeductionCache(String cacheFile, boolean verbose) {
+        if (cacheFile == null) {
+            return;
+        }
+        DeductionCache cache = MutationReportHelper.getDeductionCache();
+        if (cache.load(Paths.get(cacheFile)) && verbose) {
+            System.out.printf("Loaded %d cached mutation operator deductions from %s\n", cache.size(), cacheFile);
+        }
+    }
+
+    /**
+     * Saves the deduction cache for later runs, if a cache file is given.
+     */
+    public static void saveDeductionCache(String cacheFile, boolean verbose) {
+        DeductionCache cache = MutationReportHelper.getDeductionCache();
+        if (verbose) {
+            System.out.printf("Mutation operator deduction cache: %d hits, %d misses (hit rate %.1f%%)\n", cache.getHits(), cache.getMisses(), cache.getHitRate());
+        }
+        if (cacheFile != null) {
+            cache.save(Paths.get(cacheFile));
+        }
+    }
+
     public static void validateInput(String[] inputFiles) {
         for (String file : inputFiles) {
             if (!Files.exists(Paths.get(file))) {
@@ -0,0 +1,21 @@
+package callisto.commands;
+
+import callisto.Callisto;
+import callisto.model.ReportMerger;
+
+public class MergeCommand {
+    public static void run(String[] inputFiles, String outputFile, boolean verbose) {
+        Callisto.validateInput(inputFiles);
+        if (verbose) {
+            System.out.println("Merging reports:");
+            for (String inputFile : inputFiles) {
+                System.out.println("  " + inputFile);
+            }
+        }
+        ReportMerger.Summary summary = ReportMerger.merge(inputFiles, outputFile);
+        System.out.printf("Merged %d reports into %s: %d mutants, %d tests\n", inputFiles.length, outputFile, summary.mutants(), summary.tests());
+        if (verbose) {
+            System.out.printf("  Unified %d identical tests of different reports\n", summary.unifiedTests());
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package callisto.commands;
+
+import callisto.Callisto;
+import callisto.model.BinaryMatrix;
+import callisto.model.MutationMatrices;
+import callisto.model.MutationReport;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Analyses several reports concurrently, so that parsing the next reports overlaps with solving earlier ones. A report
+ * is only admitted when its estimated memory use fits in the memory budget together with the reports in progress.
+ * The estimate is based on the file size until the report is parsed, and on the size of its matrices after that.
+ * Reports wait for admission until a worker is free, so that reports queued for a worker hold no memory.
+ */
+class ReportPipeline {
+    /**
+     * Estimated bytes of memory per byte of report file, while the report is parsed.
+     */
+    private static final long BYTES_PER_FILE_BYTE = 2;
+
+    /**
+     * Bytes per set cell of a sparse matrix, which stores every cell both by row and by column.
+     */
+    private static final long BYTES_PER_CELL = 8;
+
+    /**
+     * Bytes per mutant of the {@link callisto.model.MutantTable} and the mutant id. While a report is parsed, mutant
+     * objects are only kept for the files whose mutation operators are still being deduced, which is covered by the
+     * estimate per byte of the file.
+     */
+    private static final long BYTES_PER_MUTANT = 64;
+
+    /**
+     * Memory of a report while it is minimalized and its mutation operators are evaluated, relative to its matrices and
+     * mutants: the solver models and the row and column arrays of the matrix views come on top of the report itself.
+     */
+    private static final long WORKING_SET_FACTOR = 3;
+
+    interface ReportTask<R> {
+        R run(String inputFile, MutationReport report);
+    }
+
+    private final int concurrentReports;
+    private final int budgetKiB;
+    private final Path reportCacheDirectory;
+    private final boolean mappedMatrices;
+
+    /**
+     * @param concurrentReports    maximum number of reports analysed at the same time
+     * @param memoryBudget         memory in bytes the reports in progress may use together
+     * @param reportCacheDirectory directory of the binary caches of the reports, or null to not use them
+     * @param mappedMatrices       whether to build the matrices of every report in memory-mapped files
+     */
+    ReportPipeline(int concurrentReports, long memoryBudget, Path reportCacheDirectory, boolean mappedMatrices) {
+        this.concurrentReports = concurrentReports;
+        this.reportCacheDirectory = reportCacheDirectory;
+        this.mappedMatrices = mappedMatrices;
+        this.budgetKiB = (int) Math.max(1, Math.min(Integer.MAX_VALUE, memoryBudget / 1024));
+    }
+
+    /**
+     * @return the results of the task for every input file, in order of the input files
+     */
+    <R> List<R> run(String[] inputFiles, ReportTask<R> task) {
+        List<R> results = new ArrayList<>();
+        if (concurrentReports <= 1 || inputFiles.length <= 1) {
+            for (String inputFile : inputFiles) {
+                results.add(task.run(inputFile, readReport(inputFile)));
+            }
+            return results;
+        }
+        int workers = Math.min(concurrentReports, inputFiles.length);
+        Semaphore slots = new Semaphore(workers);
+        Semaphore memory = new Semaphore(budgetKiB);
+        ExecutorService executor = Executors.newFixedThreadPool(workers);
+        try {
+            List<Future<R>> futures = new ArrayList<>();
+            // the reports are admitted here, one at a time in input order, before they are handed to a worker
+            for (String inputFile : inputFiles) {
+                slots.acquire();
+                int reserved = toKiB(estimateFileMemory(inputFile));
+                memory.acquire(reserved);
+                futures.add(executor.submit(() -> runAdmitted(inputFile, task, slots, memory, reserved)));
+            }
+            for (Future<R> future : futures) {
+                results.add(future.get());
+            }
+        } catch (InterruptedException | ExecutionException e) {
+            throw new RuntimeException(e);
+        } finally {
+            executor.shutdownNow();
+        }
+        return results;
+    }
+
+    /**
+     * @param reserved the memory in KiB that was acquired for the report when it was admitted
+     */
+    private <R> R runAdmitted(String inputFile, ReportTask<R> task, Semaphore slots, Semaphore memory, int reserved) {
+        try {
+            MutationReport report = readReport(inputFile);
+            int needed = toKiB(estimateReportMemory(report));
+            if (needed < reserved) {
+                // give back what the parsed report turns out not to need
+                memory.release(reserved - needed);
+            } else if (needed > reserved && !memory.tryAcquire(needed - reserved)) {
+                // wait for the whole estimate without holding any memory, so that reports waiting for more memory
+                // cannot block each other
+                memory.release(reserved);
+                reserved = 0;
+                memory.acquire(needed);
+            }
+            reserved = needed;
+            return task.run(inputFile, report);
+        } catch (InterruptedException e) {
+            throw new RuntimeException(e);
+        } finally {
+            memory.release(reserved);
+            slots.release();
+        }
+    }
+
+    private MutationReport readReport(String inputFile) {
+        return Callisto.streamReport(inputFile, reportCacheDirectory, mappedMatrices);
+    }
+
+    private static long estimateFileMemory(String inputFile) {
+        try {
+            return Files.size(Paths.get(inputFile)) * BYTES_PER_FILE_BYTE;
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private long estimateReportMemory(MutationReport report) {
+        MutationMatrices matrices = report.getMatrices();
+        // mapped matrices are paged in by the operating system instead of taking heap space
+        long cells = mappedMatrices ? 0 : countCells(matrices.getKills()) + countCells(matrices.getCoverage());
+        return (cells * BYTES_PER_CELL + matrices.getNumberOfMutants() * BYTES_PER_MUTANT) * WORKING_SET_FACTOR;
+    }
+
+    private static long countCells(BinaryMatrix matrix) {
+        long cells = 0;
+        for (int row = 0; row < matrix.getNumberOfRows(); row++) {
+            cells += matrix.countRow(row);
+        }
+        return cells;
+    }
+
+    /**
+     * Reports larger than the whole budget are still admitted, but only on their own.
+     */
+    private int toKiB(long bytes) {
+        return (int) Math.max(1, Math.min(budgetKiB, bytes / 1024));
+    }
+}
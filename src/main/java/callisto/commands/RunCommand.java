@@ -1,6 +1,7 @@
 package callisto.commands;
 
 import callisto.Callisto;
+import callisto.logic.SolverSettings;
 import callisto.logic.Calculator;
 import callisto.model.CallistoResult;
 import callisto.model.MutationMatrices;
@@ -9,40 +10,76 @@ import callisto.model.MutationReportHelper;
 
 import java.io.IOException;
 import java.io.PrintWriter;
-import java.util.ArrayList;
+import java.nio.file.Path;
+import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
 
 public class RunCommand {
-    public static void run(String[] inputFiles, String outputFile, String solver, boolean useKilledOnly, boolean useStatic) {
+    public static void run(String[] inputFiles, String outputFile, SolverSettings solverSettings, boolean useKilledOnly, boolean useStatic, int threads, int concurrentReports, long memoryBudget, String deductionCache, Path reportCacheDirectory, boolean mappedMatrices, boolean verbose) {
         Callisto.validateInput(inputFiles);
-        CallistoResult[][] totalResults = new CallistoResult[inputFiles.length][];
-        for (int i = 0; i < inputFiles.length; i++) {
-            MutationReport report = Callisto.parseReport(inputFiles[i]);
-            report.deduceMutationOperators();
-            MutationMatrices matrices = report.getMatrices();
-            matrices = matrices.minimalize(solver);
-            String[] mutationOperators = report.getUsedMutators();
-            mutationOperators = MutationReportHelper.filterSurvivedMutationOperators(mutationOperators, report, matrices, useKilledOnly, useStatic);
-            CallistoResult[] results = new CallistoResult[mutationOperators.length];
-            for (int j = 0; j < mutationOperators.length; j++) {
-                results[j] = getResultForOperator(mutationOperators[j], report, matrices, solver, useKilledOnly, useStatic);
+        Callisto.loadDeductionCache(deductionCache, verbose);
+        ForkJoinPool pool = threads > 1 ? new ForkJoinPool(threads) : null;
+        List<CallistoResult[]> reportResults;
+        try {
+            ReportPipeline pipeline = new ReportPipeline(concurrentReports, memoryBudget, reportCacheDirectory, mappedMatrices);
+            reportResults = pipeline.run(inputFiles, (inputFile, report) -> getResultsForReport(inputFile, report, solverSettings, useKilledOnly, useStatic, pool, verbose));
+        } finally {
+            if (pool != null) {
+                pool.shutdown();
             }
-            totalResults[i] = results;
         }
+        Callisto.saveDeductionCache(deductionCache, verbose);
+        CallistoResult[][] totalResults = reportResults.toArray(CallistoResult[][]::new);
         CallistoResult[] averagedResult = Calculator.calculateAverageOverReports(totalResults);
         writeToOutput(outputFile, averagedResult);
     }
 
-    private static CallistoResult getResultForOperator(String mutationOperatorName, MutationReport report, MutationMatrices matrices, String solver, boolean useKilledOnly, boolean useStatic) {
-        //reduce to matrices containing only the desired mutants from the chosen mutator
-        MutationReport.Mutant[] mutants = report.getMutantsByMutatorName(mutationOperatorName, useKilledOnly, useStatic);
-        List<Integer> mutantIds = new ArrayList<>();
-        for (MutationReport.Mutant mutant : mutants) {
-            mutantIds.add(Integer.parseInt(mutant.getId()));
+    private static CallistoResult[] getResultsForReport(String inputFile, MutationReport report, SolverSettings solverSettings, boolean useKilledOnly, boolean useStatic, ForkJoinPool pool, boolean verbose) {
+        MutationMatrices matrices = report.getMatrices();
+        MutationMatrices.DuplicateTests duplicateTests = matrices.findDuplicateTests();
+        if (verbose) {
+            System.out.printf("Collapsed %d groups of duplicate tests in %s (%d tests removed)\n", duplicateTests.groups(), inputFile, duplicateTests.tests().length);
+        }
+        MutationMatrices.MinimalizedMatrices minimalized = matrices.removeRows(duplicateTests.tests()).minimalizeWithBound(solverSettings);
+        matrices = minimalized.matrices();
+        if (solverSettings.approximate()) {
+            System.out.printf("Approximate minimal test suite size of %s: %d, lower bound %d (gap at most %.1f%%)\n", inputFile, matrices.getNumberOfTests(), minimalized.lowerBound(), minimalized.gap());
         }
-        MutationMatrices mutationOperatorMatrices = matrices.extractColumns(mutantIds.stream().mapToInt(i -> i).toArray());
+        String[] mutationOperators = report.getUsedMutators();
+        mutationOperators = MutationReportHelper.filterSurvivedMutationOperators(mutationOperators, report, matrices, useKilledOnly, useStatic);
+        return getResultsForOperators(mutationOperators, report, matrices, solverSettings, useKilledOnly, useStatic, pool);
+    }
+
+    /**
+     * Evaluates the mutation operators independently. With a pool, the operators are evaluated in parallel on the
+     * pool; the results are in the order of the operators either way.
+     */
+    private static CallistoResult[] getResultsForOperators(String[] mutationOperators, MutationReport report, MutationMatrices matrices, SolverSettings solverSettings, boolean useKilledOnly, boolean useStatic, ForkJoinPool pool) {
+        if (pool == null) {
+            CallistoResult[] results = new CallistoResult[mutationOperators.length];
+            for (int j = 0; j < mutationOperators.length; j++) {
+                results[j] = getResultForOperator(mutationOperators[j], report, matrices, solverSettings, useKilledOnly, useStatic);
+            }
+            return results;
+        }
+        try {
+            return pool.submit(() -> Arrays.stream(mutationOperators)
+                    .parallel()
+                    .map(mutationOperator -> getResultForOperator(mutationOperator, report, matrices, solverSettings, useKilledOnly, useStatic))
+                    .toArray(CallistoResult[]::new)).get();
+        } catch (InterruptedException | ExecutionException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private static CallistoResult getResultForOperator(String mutationOperatorName, MutationReport report, MutationMatrices matrices, SolverSettings solverSettings, boolean useKilledOnly, boolean useStatic) {
+        //reduce to matrices containing only the desired mutants from the chosen mutator
+        int[] mutantIds = report.getMutantColumnsByMutatorName(mutationOperatorName, useKilledOnly, useStatic);
+        MutationMatrices mutationOperatorMatrices = matrices.extractColumns(mutantIds);
         //minimalize again for mutator-specific matrices
-        mutationOperatorMatrices = mutationOperatorMatrices.minimalize(solver);
+        mutationOperatorMatrices = mutationOperatorMatrices.minimalize(solverSettings);
         //calculate quality and other stats
         Calculator.CoverageQualityResult result = Calculator.calculateMutationOperatorCoverageQuality(mutationOperatorMatrices);
         double quality = result.quality();
@@ -1,23 +1,24 @@
 package callisto.commands;
 
 import callisto.Callisto;
+import callisto.logic.SolverSettings;
 import callisto.model.MutationMatrices;
 import callisto.model.MutationReport;
-import callisto.model.MutationReport.Mutant;
 
 import java.io.FileWriter;
 import java.io.IOException;
 import java.io.PrintWriter;
 import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.List;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
 public class TestCommand {
-    public static void run(String levelFile, String inputFile, String outputFile, String solver, boolean verbose) {
+    public static void run(String levelFile, String inputFile, String outputFile, SolverSettings solverSettings, String deductionCache, Path reportCacheDirectory, boolean mappedMatrices, boolean verbose) {
         Callisto.validateInput(new String[] { levelFile, inputFile } );
+        Callisto.loadDeductionCache(deductionCache, verbose);
         String[] levelOperators = getMutationOperators(levelFile);
         if (verbose) {
             System.out.println("Testing effectiveness of level with mutation operators:");
@@ -29,9 +30,8 @@ public class TestCommand {
         if (verbose) {
             System.out.println("Parsing json");
         }
-        MutationReport report = Callisto.parseReport(inputFile);
-
-        report.deduceMutationOperators();
+        MutationReport report = Callisto.streamReport(inputFile, reportCacheDirectory, mappedMatrices);
+        Callisto.saveDeductionCache(deductionCache, verbose);
         String[] mutators = report.getUsedMutators();
         int totalTestExecutions = 0;
         for (String mutator : mutators) {
@@ -46,44 +46,47 @@ public class TestCommand {
             System.out.println("Determining minimal test suite size using all operators");
             System.out.println("  Minimalizing test suite");
         }
-        MutationMatrices matricesAll = matrices.minimalize(solver);
-        int testSuiteSizeAll = matricesAll.getNumberOfTests();
+        MutationMatrices.DuplicateTests duplicateTests = matrices.findDuplicateTests();
+        if (verbose) {
+            System.out.printf("  Collapsed %d groups of duplicate tests (%d tests removed)\n", duplicateTests.groups(), duplicateTests.tests().length);
+        }
+        MutationMatrices.MinimalizedMatrices minimalizedAll = matrices.removeRows(duplicateTests.tests()).minimalizeWithBound(solverSettings);
+        int testSuiteSizeAll = minimalizedAll.matrices().getNumberOfTests();
         if (verbose) {
             System.out.println("  Minimal test suite size: " + testSuiteSizeAll);
+            if (solverSettings.approximate()) {
+                System.out.printf("  Lower bound: %d (gap at most %.1f%%)\n", minimalizedAll.lowerBound(), minimalizedAll.gap());
+            }
             System.out.println("Determining minimal test suite size using level operators");
             System.out.println("  Selecting relevant mutants");
         }
-        List<Mutant> allMutants = new ArrayList<>();
+        int levelMutants = 0;
+        int levelTestExecutions = 0;
+        IntStream.Builder mutantIds = IntStream.builder();
         for (String levelOperator : levelOperators) {
-            if (Arrays.stream(mutators).noneMatch(x -> x.equals(levelOperator))) {
+            if (Arrays.binarySearch(mutators, levelOperator) < 0) {
                 System.out.printf("WARNING: mutation operator %s does not occur in %s\n", levelOperator, inputFile);
                 continue;
             }
             // using all mutants, so killedOnly = false & useStatic = true
-            allMutants.addAll(Arrays.asList(report.getMutantsByMutatorName(levelOperator, false, true)));
-        }
-        int levelMutants = allMutants.size();
-        int levelTestExecutions = 0;
-        List<Mutant> mutants = new ArrayList<>();
-        for (String levelOperator : levelOperators) {
+            levelMutants += report.getMutantColumnsByMutatorName(levelOperator, false, true).length;
             // We're going to minimize based on the selected mutants here, so including unkilled mutants makes no sense (they have no influence on minimizing)
-            mutants.addAll(Arrays.asList(report.getMutantsByMutatorName(levelOperator, true, true)));
+            Arrays.stream(report.getMutantColumnsByMutatorName(levelOperator, true, true)).forEach(mutantIds::add);
             levelTestExecutions += report.countTestExecutions(levelOperator);
         }
-        List<Integer> mutantIds = new ArrayList<>();
-        for (Mutant mutant : mutants) {
-            mutantIds.add(Integer.parseInt(mutant.getId()));
-        }
-        MutationMatrices matricesLevel = matrices.extractColumns(mutantIds.stream().mapToInt(i -> i).toArray());
+        MutationMatrices matricesLevel = matrices.extractColumns(mutantIds.build().toArray());
         if (verbose) {
             double reduction = (((double) (totalMutants - levelMutants) / totalMutants) * 100);
             System.out.printf("  Kept %d out of %d mutants. Reduction of %.0f%% (%d mutants)\n", levelMutants, totalMutants, reduction, totalMutants - levelMutants);
             System.out.println("  Minimalizing test suite");
         }
-        matricesLevel = matricesLevel.minimalize(solver);
-        int testSuiteSizeLevel = matricesLevel.getNumberOfTests();
+        MutationMatrices.MinimalizedMatrices minimalizedLevel = matricesLevel.minimalizeWithBound(solverSettings);
+        int testSuiteSizeLevel = minimalizedLevel.matrices().getNumberOfTests();
         if (verbose) {
             System.out.println("  Minimal test suite size: " +  testSuiteSizeLevel);
+            if (solverSettings.approximate()) {
+                System.out.printf("  Lower bound: %d (gap at most %.1f%%)\n", minimalizedLevel.lowerBound(), minimalizedLevel.gap());
+            }
             double effectiveness = (((double)testSuiteSizeLevel / testSuiteSizeAll) * 100);
             System.out.printf("Mutation level effectiveness: %.0f%%\n", effectiveness);
             System.out.println("Writing result to " + outputFile);
@@ -96,6 +99,9 @@ public class TestCommand {
             double effectiveness = (((double)testSuiteSizeLevel / testSuiteSizeAll) * 100);
             printWriter.printf("Tested using program %s\n", inputFile);
             printWriter.printf("Mutation level effectiveness: %.0f%%: %d / %d  (level minimal test suite size / all operators minimal test suite size)\n", effectiveness, testSuiteSizeLevel, testSuiteSizeAll);
+            if (solverSettings.approximate()) {
+                printWriter.printf("Approximate minimalization. Lower bounds: %d / %d (worst-case gaps %.1f%% / %.1f%%)\n", minimalizedLevel.lowerBound(), minimalizedAll.lowerBound(), minimalizedLevel.gap(), minimalizedAll.gap());
+            }
 
             double mutantReduction = (((double)(totalMutants - levelMutants) / totalMutants) * 100);
             printWriter.printf("Kept %d out of %d mutants. Reduction of %.0f%% (%d mutants)\n", levelMutants, totalMutants, mutantReduction, totalMutants - levelMutants);
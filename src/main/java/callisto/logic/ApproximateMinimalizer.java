@@ -0,0 +1,209 @@
+package callisto.logic;
+
+import callisto.model.BinaryMatrix;
+
+import java.util.Arrays;
+import java.util.PriorityQueue;
+
+/**
+ * Finds a small, but not necessarily minimal, test suite without an external solver. A greedy set cover with pruning
+ * of redundant tests gives the first test suite. Subgradient optimization of the Lagrangian relaxation then gives a
+ * lower bound on the minimal test suite size, and its reduced costs guide further greedy covers that may improve on
+ * the first one.
+ */
+public class ApproximateMinimalizer {
+    private static final int MAX_ITERATIONS = 300;
+
+    /**
+     * Number of iterations without improvement of the lower bound after which the step size is halved.
+     */
+    private static final int STALL_ITERATIONS = 10;
+
+    private static final double MIN_STEP_FACTOR = 0.005;
+
+    private static final double EPSILON = 1e-6;
+
+    public static MinimalizationResult minimalize(BinaryMatrix matrix) {
+        int T = matrix.getNumberOfRows();
+        int M = matrix.getNumberOfColumns();
+        int[][] kills = new int[T][];
+        for (int t = 0; t < T; t++) {
+            kills[t] = matrix.getRow(t);
+        }
+        int[][] killers = new int[M][];
+        int numberOfKilledMutants = 0;
+        for (int m = 0; m < M; m++) {
+            killers[m] = matrix.getColumn(m);
+            if (killers[m].length > 0) {
+                numberOfKilledMutants++;
+            }
+        }
+        if (numberOfKilledMutants == 0) {
+            return new MinimalizationResult(rangeOf(T), 0);
+        }
+
+        double[] unitCosts = new double[T];
+        Arrays.fill(unitCosts, 1);
+        boolean[] best = greedyCover(kills, killers, unitCosts);
+        int bestSize = count(best);
+
+        // subgradient optimization of the Lagrangian relaxation, starting from a dual feasible solution: every mutant
+        // gets the smallest share 1 / |kills| of the tests that kill it, so no test has a negative reduced cost
+        double[] multipliers = new double[M];
+        for (int m = 0; m < M; m++) {
+            double multiplier = 1;
+            for (int t : killers[m]) {
+                multiplier = Math.min(multiplier, 1.0 / kills[t].length);
+            }
+            multipliers[m] = killers[m].length == 0 ? 0 : multiplier;
+        }
+        double bestBound = 0;
+        double stepFactor = 2;
+        int stalled = 0;
+        double[] reducedCosts = new double[T];
+        int[] subgradient = new int[M];
+        for (int iteration = 0; iteration < MAX_ITERATIONS && stepFactor > MIN_STEP_FACTOR; iteration++) {
+            double bound = 0;
+            for (int m = 0; m < M; m++) {
+                bound += multipliers[m];
+            }
+            for (int t = 0; t < T; t++) {
+                reducedCosts[t] = 1;
+                for (int m : kills[t]) {
+                    reducedCosts[t] -= multipliers[m];
+                }
+                if (reducedCosts[t] < 0) {
+                    bound += reducedCosts[t];
+                }
+            }
+            if (bound > bestBound + EPSILON) {
+                bestBound = bound;
+                stalled = 0;
+                boolean[] cover = greedyCover(kills, killers, reducedCosts);
+                if (count(cover) < bestSize) {
+                    best = cover;
+                    bestSize = count(cover);
+                }
+            } else if (++stalled >= STALL_ITERATIONS) {
+                stepFactor /= 2;
+                stalled = 0;
+            }
+            if (Math.ceil(bestBound - EPSILON) >= bestSize) {
+                break;
+            }
+            int norm = 0;
+            for (int m = 0; m < M; m++) {
+                if (killers[m].length == 0) {
+                    continue;
+                }
+                subgradient[m] = 1;
+                for (int t : killers[m]) {
+                    if (reducedCosts[t] < 0) {
+                        subgradient[m]--;
+                    }
+                }
+                norm += subgradient[m] * subgradient[m];
+            }
+            if (norm == 0) {
+                break;
+            }
+            double step = stepFactor * (bestSize - bound) / norm;
+            for (int m = 0; m < M; m++) {
+                if (killers[m].length > 0) {
+                    multipliers[m] = Math.max(0, multipliers[m] + step * subgradient[m]);
+                }
+            }
+        }
+        int lowerBound = (int) Math.ceil(bestBound - EPSILON);
+        int[] rowsToRemove = new int[T - bestSize];
+        int r = 0;
+        for (int t = 0; t < T; t++) {
+            if (!best[t]) {
+                rowsToRemove[r++] = t;
+            }
+        }
+        return new MinimalizationResult(rowsToRemove, Math.min(lowerBound, bestSize));
+    }
+
+    /**
+     * Greedily selects the test with the lowest cost per newly killed mutant until all killed mutants are covered,
+     * then drops selected tests whose mutants are all killed by other selected tests.
+     */
+    static boolean[] greedyCover(int[][] kills, int[][] killers, double[] costs) {
+        int T = kills.length;
+        int[] coverCount = new int[killers.length];
+        boolean[] selected = new boolean[T];
+        int[] selectionOrder = new int[T];
+        int numberSelected = 0;
+        // entries are {score, test}, scores only increase as mutants get covered, so stale entries are re-scored lazily
+        PriorityQueue<double[]> queue = new PriorityQueue<>((a, b) -> a[0] != b[0] ? Double.compare(a[0], b[0]) : Double.compare(a[1], b[1]));
+        for (int t = 0; t < T; t++) {
+            if (kills[t].length > 0) {
+                queue.add(new double[] { score(costs[t], kills[t].length), t });
+            }
+        }
+        while (!queue.isEmpty()) {
+            double[] entry = queue.poll();
+            int test = (int) entry[1];
+            int gain = 0;
+            for (int m : kills[test]) {
+                if (coverCount[m] == 0) {
+                    gain++;
+                }
+            }
+            if (gain == 0) {
+                continue;
+            }
+            double score = score(costs[test], gain);
+            if (score > entry[0] && !queue.isEmpty() && score > queue.peek()[0]) {
+                queue.add(new double[] { score, test });
+                continue;
+            }
+            selected[test] = true;
+            selectionOrder[numberSelected++] = test;
+            for (int m : kills[test]) {
+                coverCount[m]++;
+            }
+        }
+        // prune redundant tests, last selected first as they contributed the least
+        for (int i = numberSelected - 1; i >= 0; i--) {
+            int test = selectionOrder[i];
+            boolean redundant = true;
+            for (int m : kills[test]) {
+                if (coverCount[m] < 2) {
+                    redundant = false;
+                    break;
+                }
+            }
+            if (redundant) {
+                selected[test] = false;
+                for (int m : kills[test]) {
+                    coverCount[m]--;
+                }
+            }
+        }
+        return selected;
+    }
+
+    private static double score(double cost, int gain) {
+        return Math.max(cost, EPSILON) / gain;
+    }
+
+    private static int count(boolean[] flags) {
+        int count = 0;
+        for (boolean flag : flags) {
+            if (flag) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private static int[] rangeOf(int length) {
+        int[] result = new int[length];
+        for (int i = 0; i < length; i++) {
+            result[i] = i;
+        }
+        return result;
+    }
+}
@@ -6,18 +6,8 @@ import callisto.model.MutationMatrices;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
-import java.util.stream.IntStream;
 
 public class Calculator {
-    public static boolean intArrayContains(int[] array, int key) {
-        for (int i : array) {
-            if (i == key) {
-                return true;
-            }
-        }
-        return false;
-    }
-
     public static CoverageQualityResult calculateMutationOperatorCoverageQuality(MutationMatrices matrices) {
         //assumptions of matrix contents:
         //- all mutants are from one mutator
@@ -26,10 +16,13 @@ public class Calculator {
             return new CoverageQualityResult(0, 0);
         }
         double[] mutantQualities = new double[matrices.getNumberOfMutants()];
-        int[] equivalentMutants = matrices.getEquivalentMutants();
+        long totalCoverageCount = 0;
+        for (int t = 0; t < matrices.getNumberOfTests(); t++) {
+            totalCoverageCount += matrices.countNonEquivalentMutantsCoveredByTest(t);
+        }
         for (int m = 0; m < matrices.getNumberOfMutants(); m++) {
             //equivalent mutants get quality 0
-            if (intArrayContains(equivalentMutants, m)) {
+            if (!matrices.isKilled(m)) {
                 mutantQualities[m] = 0;
                 continue;
             }
@@ -37,20 +30,16 @@ public class Calculator {
             double sum = 0;
             int[] killerTests = matrices.getKillersOfMutant(m);
             for (int test : killerTests) {
-                sum += matrices.getMutantsKilledByTest(test).length;
+                sum += matrices.countMutantsKilledByTest(test);
             }
 
             double denominatorSum = 0;
-            int[] testsToConsider;
-            // determine if mutant is difficult to reach:
-            if (!matrices.isMutantDifficultToReach(m)) {
-                testsToConsider = matrices.getCoverersOfMutant(m);
-            } else {
-                // consider all tests:
-                testsToConsider = IntStream.range(0, matrices.getNumberOfTests()).toArray();
+            for (int test : matrices.getCoverersOfMutant(m)) {
+                denominatorSum += matrices.countNonEquivalentMutantsCoveredByTest(test);
             }
-            for (int test : testsToConsider) {
-                denominatorSum += Arrays.stream(matrices.getMutantsCoveredByTest(test)).filter(mutant -> !Calculator.intArrayContains(equivalentMutants, mutant)).count();
+            // determine if mutant is difficult to reach, if so consider all tests
+            if (denominatorSum <= MutationMatrices.MCOV) {
+                denominatorSum = totalCoverageCount;
             }
             // final calculation:
             double quality = 1.0 - (sum / denominatorSum);
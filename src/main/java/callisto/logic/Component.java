@@ -0,0 +1,94 @@
+package callisto.logic;
+
+import callisto.model.BinaryMatrix;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Connected component of the bipartite graph of tests and the mutants they kill. Tests and mutants of different
+ * components never interact, so every component can be minimalized on its own.
+ *
+ * @param tests   rows of the component, in ascending order
+ * @param mutants columns of the component, in ascending order
+ */
+public record Component(int[] tests, int[] mutants) {
+    public static Component[] find(BinaryMatrix matrix) {
+        int T = matrix.getNumberOfRows();
+        int M = matrix.getNumberOfColumns();
+        int[] parent = new int[T];
+        for (int t = 0; t < T; t++) {
+            parent[t] = t;
+        }
+        int[] firstKiller = new int[M];
+        for (int m = 0; m < M; m++) {
+            int[] killers = matrix.getColumn(m);
+            firstKiller[m] = killers.length == 0 ? -1 : killers[0];
+            for (int i = 1; i < killers.length; i++) {
+                union(parent, killers[0], killers[i]);
+            }
+        }
+        // number the components in order of their first test
+        int[] componentOfRoot = new int[T];
+        Arrays.fill(componentOfRoot, -1);
+        List<IntList> tests = new ArrayList<>();
+        List<IntList> mutants = new ArrayList<>();
+        for (int t = 0; t < T; t++) {
+            int root = find(parent, t);
+            if (componentOfRoot[root] == -1) {
+                componentOfRoot[root] = tests.size();
+                tests.add(new IntList());
+                mutants.add(new IntList());
+            }
+            tests.get(componentOfRoot[root]).add(t);
+        }
+        for (int m = 0; m < M; m++) {
+            // equivalent mutants belong to no component
+            if (firstKiller[m] != -1) {
+                mutants.get(componentOfRoot[find(parent, firstKiller[m])]).add(m);
+            }
+        }
+        Component[] result = new Component[tests.size()];
+        for (int c = 0; c < result.length; c++) {
+            result[c] = new Component(tests.get(c).toArray(), mutants.get(c).toArray());
+        }
+        return result;
+    }
+
+    public BinaryMatrix getMatrix(BinaryMatrix matrix) {
+        return matrix.extractColumns(mutants).keepRows(tests);
+    }
+
+    private static int find(int[] parent, int x) {
+        while (parent[x] != x) {
+            parent[x] = parent[parent[x]];
+            x = parent[x];
+        }
+        return x;
+    }
+
+    private static void union(int[] parent, int a, int b) {
+        int rootA = find(parent, a);
+        int rootB = find(parent, b);
+        if (rootA != rootB) {
+            parent[Math.max(rootA, rootB)] = Math.min(rootA, rootB);
+        }
+    }
+
+    private static class IntList {
+        private int[] values = new int[4];
+        private int size = 0;
+
+        void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package callisto.logic;
+
+/**
+ * @param rowsToRemove the rows that are not part of the minimal test suite, in ascending order
+ * @param lowerBound   lower bound on the size of a minimal test suite. Equal to the size of the found test suite when
+ *                     it is proven to be minimal
+ */
+public record MinimalizationResult(int[] rowsToRemove, int lowerBound) {
+}
@@ -1,12 +1,21 @@
 package callisto.logic;
 
+import callisto.model.BinaryMatrix;
+import callisto.model.BitMatrix;
 import com.google.ortools.Loader;
 import com.google.ortools.linearsolver.MPConstraint;
 import com.google.ortools.linearsolver.MPObjective;
 import com.google.ortools.linearsolver.MPSolver;
 import com.google.ortools.linearsolver.MPVariable;
+import com.google.ortools.sat.BoolVar;
+import com.google.ortools.sat.CpModel;
+import com.google.ortools.sat.CpSolver;
+import com.google.ortools.sat.CpSolverStatus;
+import com.google.ortools.sat.LinearExpr;
+import com.google.ortools.sat.Literal;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 public class Minimalizer {
@@ -21,27 +30,76 @@ public class Minimalizer {
     }
 
     public static int[] minimalize(boolean[][] matrix, String solverType) {
-        int T = matrix.length;
-        int M = matrix[0].length;
+        return minimalize(BitMatrix.of(matrix), solverType);
+    }
+
+    public static int[] minimalize(BinaryMatrix matrix, String solverType) {
+        return minimalize(matrix, SolverSettings.of(solverType));
+    }
+
+    public static int[] minimalize(BinaryMatrix matrix, SolverSettings settings) {
+        return minimalizeWithBound(matrix, settings).rowsToRemove();
+    }
+
+    /**
+     * Minimalizes the matrix and reports a lower bound on the minimal test suite size, which shows how far an
+     * approximate or time-limited result may be from the minimum.
+     */
+    public static MinimalizationResult minimalizeWithBound(BinaryMatrix matrix, SolverSettings settings) {
+        Presolver.PresolveResult presolved = Presolver.presolve(matrix);
+        MinimalizationResult core = solveComponents(presolved.getCore(matrix), settings);
+        // essential tests are part of every minimal test suite
+        return new MinimalizationResult(presolved.getRowsToRemove(core.rowsToRemove(), matrix.getNumberOfRows()), core.lowerBound() + presolved.fixedTests().length);
+    }
+
+    /**
+     * Solves every connected component of the matrix as a separate model, in parallel.
+     */
+    private static MinimalizationResult solveComponents(BinaryMatrix matrix, SolverSettings settings) {
+        Component[] components = Component.find(matrix);
+        MinimalizationResult[] results = Arrays.stream(components)
+                .parallel()
+                .map(component -> {
+                    // tests that kill nothing are never needed
+                    if (component.mutants().length == 0) {
+                        return new MinimalizationResult(component.tests(), 0);
+                    }
+                    BinaryMatrix componentMatrix = component.getMatrix(matrix);
+                    MinimalizationResult result;
+                    if (settings.approximate()) {
+                        result = ApproximateMinimalizer.minimalize(componentMatrix);
+                    } else if (settings.isCpSat()) {
+                        result = solveCpSat(componentMatrix, settings);
+                    } else {
+                        result = solve(componentMatrix, settings);
+                    }
+                    int[] rowsToRemove = Arrays.stream(result.rowsToRemove()).map(row -> component.tests()[row]).toArray();
+                    return new MinimalizationResult(rowsToRemove, result.lowerBound());
+                })
+                .toArray(MinimalizationResult[]::new);
+        int[] rowsToRemove = Arrays.stream(results).flatMapToInt(result -> Arrays.stream(result.rowsToRemove())).sorted().toArray();
+        int lowerBound = Arrays.stream(results).mapToInt(MinimalizationResult::lowerBound).sum();
+        return new MinimalizationResult(rowsToRemove, lowerBound);
+    }
+
+    private static MinimalizationResult solve(BinaryMatrix matrix, SolverSettings settings) {
+        int T = matrix.getNumberOfRows();
+        int M = matrix.getNumberOfColumns();
         Loader.loadNativeLibraries();
-        MPSolver solver = MPSolver.createSolver(solverType);
+        MPSolver solver = MPSolver.createSolver(settings.solver());
+        if (settings.timeLimit() > 0) {
+            solver.setTimeLimit((long) (settings.timeLimit() * 1000));
+        }
         MPVariable[] x = solver.makeBoolVarArray(T);
         for (int m = 0; m < M; m++) {
-            // check to see if this mutant is equivalent
-            boolean isEquivalent = true;
-            for (int i = 0; i < T; i++) {
-                if (matrix[i][m]) {
-                    isEquivalent = false;
-                    break;
-                }
-            }
+            int[] killers = matrix.getColumn(m);
             // no constraint for equivalent mutants, so they are ignored
-            if (isEquivalent) {
+            if (killers.length == 0) {
                 continue;
             }
             MPConstraint constraint = solver.makeConstraint(1, CONSTRAINT_UPPER_BOUND);
-            for (int t = 0; t < T; t++) {
-                constraint.setCoefficient(x[t], matrix[t][m] ? 1 : 0);
+            for (int t : killers) {
+                constraint.setCoefficient(x[t], 1);
             }
         }
         MPObjective objective = solver.objective();
@@ -55,7 +113,7 @@ public class Minimalizer {
         // Check that the problem has an optimal solution.
         if (resultStatus != MPSolver.ResultStatus.OPTIMAL) {
             System.out.println("The problem does not have an optimal solution!");
-            return new int[] {};
+            return new MinimalizationResult(new int[] {}, 0);
         }
         List<Integer> result = new ArrayList<>();
         boolean warning = false;
@@ -68,6 +126,69 @@ public class Minimalizer {
                 result.add(t);
             }
         }
-        return result.stream().mapToInt(i -> i).toArray();
+        // the objective of a linear relaxation is a lower bound, the objective of an integer solution is exact
+        int lowerBound = (int) Math.ceil(objective.value() - 1e-6);
+        return new MinimalizationResult(result.stream().mapToInt(i -> i).toArray(), lowerBound);
+    }
+
+    /**
+     * Solves the minimalization directly as a CP-SAT model. Unlike the linear solvers, this is always exact, and
+     * CP-SAT can search with multiple workers in parallel.
+     */
+    private static MinimalizationResult solveCpSat(BinaryMatrix matrix, SolverSettings settings) {
+        int T = matrix.getNumberOfRows();
+        int M = matrix.getNumberOfColumns();
+        Loader.loadNativeLibraries();
+        CpModel model = new CpModel();
+        BoolVar[] x = new BoolVar[T];
+        for (int t = 0; t < T; t++) {
+            x[t] = model.newBoolVar("x" + t);
+        }
+        for (int m = 0; m < M; m++) {
+            int[] killers = matrix.getColumn(m);
+            // no constraint for equivalent mutants, so they are ignored
+            if (killers.length == 0) {
+                continue;
+            }
+            Literal[] literals = new Literal[killers.length];
+            for (int i = 0; i < killers.length; i++) {
+                literals[i] = x[killers[i]];
+            }
+            model.addBoolOr(literals);
+        }
+        // hint with the approximate test suite, which is usually close to minimal
+        int[] hintRowsToRemove = ApproximateMinimalizer.minimalize(matrix).rowsToRemove();
+        boolean[] hint = new boolean[T];
+        Arrays.fill(hint, true);
+        for (int t : hintRowsToRemove) {
+            hint[t] = false;
+        }
+        for (int t = 0; t < T; t++) {
+            model.addHint(x[t], hint[t] ? 1 : 0);
+        }
+        model.minimize(LinearExpr.sum(x));
+
+        CpSolver solver = new CpSolver();
+        solver.getParameters().setNumSearchWorkers(settings.workers());
+        if (settings.timeLimit() > 0) {
+            solver.getParameters().setMaxTimeInSeconds(settings.timeLimit());
+        }
+        CpSolverStatus status = solver.solve(model);
+
+        if (status != CpSolverStatus.OPTIMAL && status != CpSolverStatus.FEASIBLE) {
+            System.out.println("The problem does not have an optimal solution!");
+            return new MinimalizationResult(new int[] {}, 0);
+        }
+        if (status == CpSolverStatus.FEASIBLE) {
+            double gap = (solver.objectiveValue() - solver.bestObjectiveBound()) / solver.objectiveValue() * 100;
+            System.err.printf("WARNING: Minimalization stopped at the time limit. Test suite size %.0f, lower bound %.0f (gap %.1f%%)%n", solver.objectiveValue(), solver.bestObjectiveBound(), gap);
+        }
+        List<Integer> result = new ArrayList<>();
+        for (int t = 0; t < T; t++) {
+            if (!solver.booleanValue(x[t])) {
+                result.add(t);
+            }
+        }
+        return new MinimalizationResult(result.stream().mapToInt(i -> i).toArray(), (int) Math.ceil(solver.bestObjectiveBound() - 1e-6));
     }
 }
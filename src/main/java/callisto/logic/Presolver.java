@@ -0,0 +1,202 @@
+package callisto.logic;
+
+import callisto.model.BinaryMatrix;
+
+import java.util.Arrays;
+
+/**
+ * Reduces the set cover problem of a kill matrix before it is handed to a solver. The following reductions are
+ * applied until none of them changes anything:
+ * <ul>
+ *     <li>a test that is the only remaining killer of a mutant is essential, so it is kept and every mutant it kills
+ *     is covered;</li>
+ *     <li>a mutant whose killers are a superset of the killers of another mutant is covered whenever the other mutant
+ *     is, so its constraint is redundant;</li>
+ *     <li>a test whose killed mutants are a subset of those of another test is dominated, so it can be removed.</li>
+ * </ul>
+ * Only the remaining tests and mutants, the core, need to be solved.
+ */
+public class Presolver {
+    public static PresolveResult presolve(BinaryMatrix matrix) {
+        int T = matrix.getNumberOfRows();
+        int M = matrix.getNumberOfColumns();
+        int[][] killers = new int[M][];
+        boolean[] mutantLive = new boolean[M];
+        for (int m = 0; m < M; m++) {
+            killers[m] = matrix.getColumn(m);
+            // equivalent mutants have no constraint
+            mutantLive[m] = killers[m].length > 0;
+        }
+        int[][] kills = new int[T][];
+        boolean[] testLive = new boolean[T];
+        boolean[] testFixed = new boolean[T];
+        for (int t = 0; t < T; t++) {
+            kills[t] = matrix.getRow(t);
+            testLive[t] = true;
+        }
+
+        boolean changed = true;
+        while (changed) {
+            changed = false;
+            int[][] liveKillers = new int[M][];
+            for (int m = 0; m < M; m++) {
+                if (mutantLive[m]) {
+                    liveKillers[m] = filter(killers[m], testLive);
+                }
+            }
+            // essential tests
+            for (int m = 0; m < M; m++) {
+                if (mutantLive[m] && liveKillers[m].length == 0) {
+                    // cannot happen, a removed test always leaves a test behind that kills the same mutants
+                    throw new IllegalStateException("Presolve removed all killers of mutant " + m);
+                }
+                if (mutantLive[m] && liveKillers[m].length == 1) {
+                    int test = liveKillers[m][0];
+                    testLive[test] = false;
+                    testFixed[test] = true;
+                    for (int mutant : kills[test]) {
+                        mutantLive[mutant] = false;
+                    }
+                    changed = true;
+                }
+            }
+            if (changed) {
+                continue;
+            }
+            int[][] liveKills = new int[T][];
+            for (int t = 0; t < T; t++) {
+                if (testLive[t]) {
+                    liveKills[t] = filter(kills[t], mutantLive);
+                    // a test that kills no remaining mutant is not needed
+                    if (liveKills[t].length == 0) {
+                        testLive[t] = false;
+                        changed = true;
+                    }
+                }
+            }
+            // redundant mutants
+            for (int m1 = 0; m1 < M; m1++) {
+                if (!mutantLive[m1]) {
+                    continue;
+                }
+                int rarestKiller = rarest(liveKillers[m1], liveKills);
+                for (int m2 : liveKills[rarestKiller]) {
+                    // of two mutants with equal killers the first one is kept
+                    if (m2 != m1 && mutantLive[m2] && isSubset(liveKillers[m1], liveKillers[m2])
+                            && (liveKillers[m1].length < liveKillers[m2].length || m1 < m2)) {
+                        mutantLive[m2] = false;
+                        changed = true;
+                    }
+                }
+            }
+            // dominated tests
+            for (int t1 = 0; t1 < T; t1++) {
+                if (!testLive[t1]) {
+                    continue;
+                }
+                int rarestMutant = rarest(liveKills[t1], liveKillers);
+                for (int t2 : liveKillers[rarestMutant]) {
+                    // of two tests with equal kills the first one is kept
+                    if (t2 != t1 && testLive[t2] && isSubset(liveKills[t1], liveKills[t2])
+                            && (liveKills[t1].length < liveKills[t2].length || t1 > t2)) {
+                        testLive[t1] = false;
+                        changed = true;
+                        break;
+                    }
+                }
+            }
+        }
+        return new PresolveResult(indicesOf(testFixed), indicesOf(testLive), indicesOf(mutantLive));
+    }
+
+    private static int[] filter(int[] indices, boolean[] live) {
+        int[] result = new int[indices.length];
+        int size = 0;
+        for (int index : indices) {
+            if (live[index]) {
+                result[size++] = index;
+            }
+        }
+        return Arrays.copyOf(result, size);
+    }
+
+    /**
+     * @return the element of {@code indices} with the shortest list in {@code lists}
+     */
+    private static int rarest(int[] indices, int[][] lists) {
+        int result = indices[0];
+        for (int index : indices) {
+            if (lists[index].length < lists[result].length) {
+                result = index;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @return true if sorted {@code subset} is a subset of sorted {@code superset}
+     */
+    private static boolean isSubset(int[] subset, int[] superset) {
+        if (subset.length > superset.length) {
+            return false;
+        }
+        int j = 0;
+        for (int element : subset) {
+            while (j < superset.length && superset[j] < element) {
+                j++;
+            }
+            if (j == superset.length || superset[j] != element) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int[] indicesOf(boolean[] flags) {
+        int[] result = new int[flags.length];
+        int size = 0;
+        for (int i = 0; i < flags.length; i++) {
+            if (flags[i]) {
+                result[size++] = i;
+            }
+        }
+        return Arrays.copyOf(result, size);
+    }
+
+    /**
+     * @param fixedTests  essential tests, which are always kept
+     * @param coreTests   tests that still need to be decided by a solver
+     * @param coreMutants mutants that still need to be killed by the core tests
+     */
+    public record PresolveResult(int[] fixedTests, int[] coreTests, int[] coreMutants) {
+        public BinaryMatrix getCore(BinaryMatrix matrix) {
+            return matrix.extractColumns(coreMutants).keepRows(coreTests);
+        }
+
+        /**
+         * Maps the rows removed from the core back to the rows of the original matrix.
+         *
+         * @return all rows of the original matrix that are not in the minimal test suite, in ascending order
+         */
+        public int[] getRowsToRemove(int[] coreRowsToRemove, int numberOfTests) {
+            boolean[] keep = new boolean[numberOfTests];
+            for (int test : fixedTests) {
+                keep[test] = true;
+            }
+            for (int test : coreTests) {
+                keep[test] = true;
+            }
+            for (int row : coreRowsToRemove) {
+                keep[coreTests[row]] = false;
+            }
+            int[] result = new int[numberOfTests];
+            int size = 0;
+            for (int t = 0; t < numberOfTests; t++) {
+                if (!keep[t]) {
+                    result[size++] = t;
+                }
+            }
+            return Arrays.copyOf(result, size);
+        }
+    }
+}
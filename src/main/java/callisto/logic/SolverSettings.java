@@ -0,0 +1,21 @@
+package callisto.logic;
+
+/**
+ * Settings for minimalizing a test suite.
+ *
+ * @param solver      name of the OR-Tools solver, or {@code CPSAT} to use the CP-SAT solver directly
+ * @param workers     number of parallel search workers used by CP-SAT, 0 lets CP-SAT decide
+ * @param timeLimit   wall-clock limit in seconds per solved model, 0 for no limit
+ * @param approximate use the greedy {@link ApproximateMinimalizer} instead of the solver
+ */
+public record SolverSettings(String solver, int workers, double timeLimit, boolean approximate) {
+    public static final String CP_SAT = "CPSAT";
+
+    public static SolverSettings of(String solver) {
+        return new SolverSettings(solver, 0, 0, false);
+    }
+
+    public boolean isCpSat() {
+        return CP_SAT.equalsIgnoreCase(solver);
+    }
+}
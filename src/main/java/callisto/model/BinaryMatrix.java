@@ -0,0 +1,57 @@
+package callisto.model;
+
+/**
+ * Boolean matrix with tests as rows and mutants as columns. Implementations are immutable: removing rows or
+ * extracting columns results in a new matrix.
+ */
+public interface BinaryMatrix {
+    int getNumberOfRows();
+
+    int getNumberOfColumns();
+
+    boolean get(int row, int column);
+
+    /**
+     * @return the columns that are set in the row, in ascending order
+     */
+    int[] getRow(int row);
+
+    /**
+     * @return the rows that are set in the column, in ascending order
+     */
+    int[] getColumn(int column);
+
+    int countRow(int row);
+
+    int countColumn(int column);
+
+    boolean rowsEqual(int row1, int row2);
+
+    /**
+     * @return a hash of the row, equal rows have equal hashes
+     */
+    int rowHash(int row);
+
+    BinaryMatrix removeRows(int[] rowsToRemove);
+
+    /**
+     * @param rowsToKeep the rows to keep, in ascending order
+     */
+    default BinaryMatrix keepRows(int[] rowsToKeep) {
+        int[] rowsToRemove = new int[getNumberOfRows() - rowsToKeep.length];
+        int i = 0;
+        int r = 0;
+        for (int row = 0; row < getNumberOfRows(); row++) {
+            if (i < rowsToKeep.length && rowsToKeep[i] == row) {
+                i++;
+            } else {
+                rowsToRemove[r++] = row;
+            }
+        }
+        return removeRows(rowsToRemove);
+    }
+
+    BinaryMatrix extractColumns(int[] columnsToKeep);
+
+    boolean[][] toArray();
+}
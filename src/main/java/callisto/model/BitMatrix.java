@@ -0,0 +1,158 @@
+package callisto.model;
+
+import java.util.Arrays;
+
+/**
+ * {@link BinaryMatrix} storing every row as a bitset of {@code long} words, so that row operations handle 64 cells at
+ * a time. Rows are never modified after construction, so derived matrices share the rows they keep.
+ */
+public class BitMatrix implements BinaryMatrix {
+    private final long[][] rows;
+
+    private final int numberOfColumns;
+
+    public BitMatrix(long[][] rows, int numberOfColumns) {
+        this.rows = rows;
+        this.numberOfColumns = numberOfColumns;
+    }
+
+    public static BitMatrix of(boolean[][] matrix) {
+        int numberOfColumns = matrix.length == 0 ? 0 : matrix[0].length;
+        long[][] rows = new long[matrix.length][words(numberOfColumns)];
+        for (int r = 0; r < matrix.length; r++) {
+            for (int c = 0; c < numberOfColumns; c++) {
+                if (matrix[r][c]) {
+                    rows[r][c >>> 6] |= 1L << c;
+                }
+            }
+        }
+        return new BitMatrix(rows, numberOfColumns);
+    }
+
+    public static int words(int numberOfBits) {
+        return (numberOfBits + 63) >>> 6;
+    }
+
+    public static boolean isSet(long[] mask, int bit) {
+        return (mask[bit >>> 6] & (1L << bit)) != 0;
+    }
+
+    @Override
+    public int getNumberOfRows() {
+        return rows.length;
+    }
+
+    @Override
+    public int getNumberOfColumns() {
+        return numberOfColumns;
+    }
+
+    @Override
+    public boolean get(int row, int column) {
+        return isSet(rows[row], column);
+    }
+
+    @Override
+    public int[] getRow(int row) {
+        long[] words = rows[row];
+        int[] result = new int[countRow(row)];
+        int i = 0;
+        for (int w = 0; w < words.length; w++) {
+            long word = words[w];
+            while (word != 0) {
+                result[i++] = (w << 6) + Long.numberOfTrailingZeros(word);
+                word &= word - 1;
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public int[] getColumn(int column) {
+        int[] result = new int[countColumn(column)];
+        int i = 0;
+        for (int r = 0; r < rows.length; r++) {
+            if (isSet(rows[r], column)) {
+                result[i++] = r;
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public int countRow(int row) {
+        int count = 0;
+        for (long word : rows[row]) {
+            count += Long.bitCount(word);
+        }
+        return count;
+    }
+
+    @Override
+    public int countColumn(int column) {
+        int count = 0;
+        for (long[] row : rows) {
+            if (isSet(row, column)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @Override
+    public boolean rowsEqual(int row1, int row2) {
+        return Arrays.equals(rows[row1], rows[row2]);
+    }
+
+    @Override
+    public int rowHash(int row) {
+        return Arrays.hashCode(rows[row]);
+    }
+
+    @Override
+    public BitMatrix removeRows(int[] rowsToRemove) {
+        if (rowsToRemove.length == 0) {
+            return this;
+        }
+        boolean[] removed = new boolean[rows.length];
+        for (int row : rowsToRemove) {
+            removed[row] = true;
+        }
+        long[][] newRows = new long[rows.length - rowsToRemove.length][];
+        int r = 0;
+        for (int i = 0; i < rows.length; i++) {
+            if (!removed[i]) {
+                newRows[r++] = rows[i];
+            }
+        }
+        return new BitMatrix(newRows, numberOfColumns);
+    }
+
+    @Override
+    public BitMatrix extractColumns(int[] columnsToKeep) {
+        int[] columns = columnsToKeep.clone();
+        Arrays.sort(columns);
+        long[][] newRows = new long[rows.length][words(columns.length)];
+        for (int r = 0; r < rows.length; r++) {
+            long[] row = rows[r];
+            long[] newRow = newRows[r];
+            for (int c = 0; c < columns.length; c++) {
+                if (isSet(row, columns[c])) {
+                    newRow[c >>> 6] |= 1L << c;
+                }
+            }
+        }
+        return new BitMatrix(newRows, columns.length);
+    }
+
+    @Override
+    public boolean[][] toArray() {
+        boolean[][] result = new boolean[rows.length][numberOfColumns];
+        for (int r = 0; r < rows.length; r++) {
+            for (int c = 0; c < numberOfColumns; c++) {
+                result[r][c] = isSet(rows[r], c);
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,206 @@
+package callisto.model;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Formatter;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Remembers the deduced mutation operator name for every combination of mutator, original code and replacement, as
+ * the same mutations occur many times in a report and across reports. The original code is compared without the
+ * characters the deduction ignores, see {@link MutationReportHelper#isIgnored}, so the same mutation with other spacing
+ * or parentheses is one entry. The diagnostics of a deduction are remembered as well, so that the output does not
+ * depend on whether a deduction was cached. The cache can be saved to a file and loaded again in a later run.
+ */
+public class DeductionCache {
+    /**
+     * Version of the file format and of the deduction rules. Files of another version are not loaded.
+     */
+    private static final int FILE_VERSION = 2;
+
+    private static final int DEFAULT_MAX_ENTRIES = 100_000;
+
+    /**
+     * Longer code is rarely repeated, so it is not worth the memory of caching.
+     */
+    private static final int MAX_CODE_LENGTH = 256;
+
+    interface Deducer {
+        String deduce(String mutator, CharSequence original, String replacement, Formatter diagnostics);
+    }
+
+    private final Map<Key, Deduction> deductions = new ConcurrentHashMap<>();
+    private final int maxEntries;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public DeductionCache() {
+        this(DEFAULT_MAX_ENTRIES);
+    }
+
+    public DeductionCache(int maxEntries) {
+        this.maxEntries = maxEntries;
+    }
+
+    String deduce(String mutator, CharSequence original, String replacement, Formatter diagnostics, Deducer deducer) {
+        if (original.length() > MAX_CODE_LENGTH || replacement == null || replacement.length() > MAX_CODE_LENGTH) {
+            return deducer.deduce(mutator, original, replacement, diagnostics);
+        }
+        // the code is only copied to a string for a key that is stored
+        Deduction deduction = deductions.get(new Key(mutator, original, replacement));
+        // diagnostics quote the code, so they are only repeated for the code as it was written when deduced
+        if (deduction != null && (deduction.diagnostics().isEmpty() || deduction.original().contentEquals(original))) {
+            hits.increment();
+        } else {
+            misses.increment();
+            Formatter deductionDiagnostics = new Formatter(new StringBuilder());
+            String name = deducer.deduce(mutator, original, replacement, deductionDiagnostics);
+            String code = original.toString();
+            Deduction newDeduction = new Deduction(name, deductionDiagnostics.toString(), code);
+            // once full, new deductions are no longer remembered
+            if (deduction == null && deductions.size() < maxEntries) {
+                deductions.putIfAbsent(new Key(mutator, code, replacement), newDeduction);
+            }
+            deduction = newDeduction;
+        }
+        if (!deduction.diagnostics().isEmpty()) {
+            diagnostics.format("%s", deduction.diagnostics());
+        }
+        return deduction.name();
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    public double getHitRate() {
+        long lookups = getHits() + getMisses();
+        return lookups == 0 ? 0 : (double) getHits() / lookups * 100;
+    }
+
+    public int size() {
+        return deductions.size();
+    }
+
+    /**
+     * Adds the deductions saved in the file, if it exists and was saved with the same version.
+     *
+     * @return whether the file was loaded
+     */
+    public boolean load(Path path) {
+        if (!Files.exists(path)) {
+            return false;
+        }
+        try (DataInputStream input = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+            if (input.readInt() != FILE_VERSION) {
+                return false;
+            }
+            int entries = input.readInt();
+            for (int i = 0; i < entries && deductions.size() < maxEntries; i++) {
+                String mutator = input.readUTF();
+                String original = input.readUTF();
+                Key key = new Key(mutator, original, input.readUTF());
+                deductions.put(key, new Deduction(input.readUTF(), input.readUTF(), original));
+            }
+            return true;
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    public void save(Path path) {
+        try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(path)))) {
+            Map<Key, Deduction> snapshot = Map.copyOf(deductions);
+            output.writeInt(FILE_VERSION);
+            output.writeInt(snapshot.size());
+            for (Map.Entry<Key, Deduction> entry : snapshot.entrySet()) {
+                output.writeUTF(entry.getKey().mutator());
+                output.writeUTF(entry.getValue().original());
+                output.writeUTF(entry.getKey().replacement());
+                output.writeUTF(entry.getValue().name());
+                output.writeUTF(entry.getValue().diagnostics());
+            }
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Key of a deduction, whose original code is hashed and compared by its kept characters only. A key that is looked
+     * up refers to the code in the source, a key that is stored to a copy of it.
+     */
+    private static final class Key {
+        private final String mutator;
+        private final CharSequence original;
+        private final String replacement;
+        private final int hash;
+
+        Key(String mutator, CharSequence original, String replacement) {
+            this.mutator = mutator;
+            this.original = original;
+            this.replacement = replacement;
+            int originalHash = 0;
+            for (int i = 0; i < original.length(); i++) {
+                char c = original.charAt(i);
+                if (!MutationReportHelper.isIgnored(c)) {
+                    originalHash = 31 * originalHash + c;
+                }
+            }
+            this.hash = (31 * mutator.hashCode() + originalHash) * 31 + replacement.hashCode();
+        }
+
+        String mutator() {
+            return mutator;
+        }
+
+        String replacement() {
+            return replacement;
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof Key key && hash == key.hash && mutator.equals(key.mutator)
+                    && replacement.equals(key.replacement) && keptEquals(original, key.original);
+        }
+
+        private static boolean keptEquals(CharSequence first, CharSequence second) {
+            int i = 0;
+            int j = 0;
+            while (true) {
+                while (i < first.length() && MutationReportHelper.isIgnored(first.charAt(i))) {
+                    i++;
+                }
+                while (j < second.length() && MutationReportHelper.isIgnored(second.charAt(j))) {
+                    j++;
+                }
+                if (i == first.length() || j == second.length()) {
+                    return i == first.length() && j == second.length();
+                }
+                if (first.charAt(i++) != second.charAt(j++)) {
+                    return false;
+                }
+            }
+        }
+    }
+
+    /**
+     * @param original the original code as it was written when deduced, which the diagnostics quote
+     */
+    private record Deduction(String name, String diagnostics, String original) { }
+}
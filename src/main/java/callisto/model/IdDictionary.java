@@ -0,0 +1,173 @@
+package callisto.model;
+
+import java.util.Arrays;
+import java.util.Comparator;
+
+/**
+ * Maps the ids of mutants or tests in a report to dense indices, in order of first occurrence, and back. Stryker
+ * reports may use sparse or non-numeric ids, so ids are never used as matrix indices directly.
+ * <p>
+ * Ids can be looked up by their characters in a parser buffer, so that the same test id referenced by many mutants is
+ * only turned into a {@code String} once. The ids are kept in an open-addressing hash table for this.
+ */
+public class IdDictionary {
+    /**
+     * Index plus one of the id in every slot, or 0 for an empty slot. The number of slots is a power of two.
+     */
+    private int[] table = new int[32];
+
+    private String[] ids = new String[16];
+
+    private int size = 0;
+
+    /**
+     * @return the index of the id, which is added if it is new
+     */
+    public int add(String id) {
+        int slot = find(id);
+        return table[slot] != 0 ? table[slot] - 1 : insert(slot, id);
+    }
+
+    /**
+     * Same as {@link #add(String)}, for the id in {@code chars[offset]} up to {@code chars[offset + length]}.
+     */
+    public int add(char[] chars, int offset, int length) {
+        int mask = table.length - 1;
+        int slot = hash(chars, offset, length) & mask;
+        while (table[slot] != 0) {
+            if (equals(ids[table[slot] - 1], chars, offset, length)) {
+                return table[slot] - 1;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return insert(slot, new String(chars, offset, length));
+    }
+
+    /**
+     * @return the index of the id, or -1 if it is not in the dictionary
+     */
+    public int indexOf(String id) {
+        return table[find(id)] - 1;
+    }
+
+    public String getId(int index) {
+        return ids[index];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return the slot of the id, or the empty slot where it belongs
+     */
+    private int find(String id) {
+        int mask = table.length - 1;
+        int slot = hash(id) & mask;
+        while (table[slot] != 0 && !id.equals(ids[table[slot] - 1])) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private int insert(int slot, String id) {
+        if (size == ids.length) {
+            ids = Arrays.copyOf(ids, size * 2);
+        }
+        ids[size] = id;
+        table[slot] = ++size;
+        // at most half of the slots are used, so that probe sequences stay short
+        if (size * 2 > table.length) {
+            rehash(table.length * 2);
+        }
+        return size - 1;
+    }
+
+    private void rehash(int slots) {
+        table = new int[slots];
+        for (int i = 0; i < size; i++) {
+            table[find(ids[i])] = i + 1;
+        }
+    }
+
+    /**
+     * Same hash as {@link String#hashCode()}, spread over the low bits.
+     */
+    private static int hash(String id) {
+        int h = id.hashCode();
+        return h ^ (h >>> 16);
+    }
+
+    private static int hash(char[] chars, int offset, int length) {
+        int h = 0;
+        for (int i = offset; i < offset + length; i++) {
+            h = 31 * h + chars[i];
+        }
+        return h ^ (h >>> 16);
+    }
+
+    private static boolean equals(String id, char[] chars, int offset, int length) {
+        if (id.length() != length) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (id.charAt(i) != chars[offset + i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Renumbers the ids by numeric value if all of them are numbers, so that reports with the ids {@code 0} up to
+     * {@code n - 1} keep the id as index, as in the report.
+     *
+     * @return the new index of every old index, or null if the indices did not change
+     */
+    int[] sortNumeric() {
+        long[] values = new long[size];
+        for (int i = 0; i < size; i++) {
+            values[i] = parseNumber(ids[i]);
+            if (values[i] < 0) {
+                return null;
+            }
+        }
+        Integer[] order = new Integer[size];
+        for (int i = 0; i < size; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, Comparator.comparingLong((Integer i) -> values[i]));
+        int[] newIndices = new int[size];
+        boolean changed = false;
+        String[] sortedIds = new String[ids.length];
+        for (int i = 0; i < size; i++) {
+            newIndices[order[i]] = i;
+            sortedIds[i] = ids[order[i]];
+            changed |= order[i] != i;
+        }
+        if (!changed) {
+            return null;
+        }
+        ids = sortedIds;
+        rehash(table.length);
+        return newIndices;
+    }
+
+    /**
+     * @return the value of an id of at most 18 digits, or -1 if the id is not such a number
+     */
+    private static long parseNumber(String id) {
+        if (id.isEmpty() || id.length() > 18) {
+            return -1;
+        }
+        long value = 0;
+        for (int i = 0; i < id.length(); i++) {
+            char c = id.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+}
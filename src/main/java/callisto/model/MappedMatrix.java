@@ -0,0 +1,300 @@
+package callisto.model;
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.LongBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * {@link BinaryMatrix} storing its rows as bitsets in a memory-mapped temporary file instead of on the heap, so that
+ * matrices larger than the heap are paged in and out by the operating system. The layout of a row is the same as in
+ * {@link BitMatrix}. The columns are stored the same way in a second file, so that reading a column touches the pages
+ * of that column only instead of a page of every row. Files are mapped in chunks of whole rows, as a single mapping is
+ * limited to 2 GB.
+ * <p>
+ * Removing rows and extracting columns write new mapped files. The temporary files are deleted as soon as they are
+ * mapped where the platform allows it, and otherwise on exit; the pages are released when the matrix is garbage
+ * collected.
+ */
+public class MappedMatrix implements BinaryMatrix {
+    private static final long CHUNK_BYTES = 1L << 30;
+
+    private final MappedBits rows;
+
+    /**
+     * The transposed matrix, by column.
+     */
+    private final MappedBits columns;
+
+    private final int numberOfRows;
+
+    private final int numberOfColumns;
+
+    private interface RowSource {
+        /**
+         * Sets the bits of the row in the zeroed words.
+         */
+        void fill(int row, long[] words);
+    }
+
+    /**
+     * Bit rows of equal length in a memory-mapped temporary file, which start out as zeros.
+     */
+    private static class MappedBits {
+        private final LongBuffer[] chunks;
+
+        private final int rowsPerChunk;
+
+        /**
+         * Number of {@code long} words per row.
+         */
+        private final int words;
+
+        MappedBits(int numberOfRows, int length) {
+            words = BitMatrix.words(length);
+            long rowBytes = (long) words * Long.BYTES;
+            rowsPerChunk = rowBytes == 0 ? Math.max(1, numberOfRows) : (int) Math.max(1, Math.min(numberOfRows, CHUNK_BYTES / rowBytes));
+            chunks = new LongBuffer[(numberOfRows + rowsPerChunk - 1) / rowsPerChunk];
+            try {
+                Path file = Files.createTempFile("callisto", ".matrix");
+                try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                    for (int c = 0; c < chunks.length; c++) {
+                        int firstRow = c * rowsPerChunk;
+                        int rows = Math.min(rowsPerChunk, numberOfRows - firstRow);
+                        chunks[c] = channel.map(FileChannel.MapMode.READ_WRITE, firstRow * rowBytes, rows * rowBytes)
+                                .order(ByteOrder.nativeOrder())
+                                .asLongBuffer();
+                    }
+                } finally {
+                    deleteMappedFile(file);
+                }
+            } catch (IOException e) {
+                throw new RuntimeException(e);
+            }
+        }
+
+        long word(int row, int word) {
+            return chunks[row / rowsPerChunk].get((row % rowsPerChunk) * words + word);
+        }
+
+        boolean get(int row, int index) {
+            return (word(row, index >>> 6) & (1L << index)) != 0;
+        }
+
+        void set(int row, int index) {
+            LongBuffer chunk = chunks[row / rowsPerChunk];
+            int position = (row % rowsPerChunk) * words + (index >>> 6);
+            chunk.put(position, chunk.get(position) | 1L << index);
+        }
+
+        void read(int row, long[] destination) {
+            chunks[row / rowsPerChunk].get((row % rowsPerChunk) * words, destination);
+        }
+
+        void write(int row, long[] source) {
+            chunks[row / rowsPerChunk].put((row % rowsPerChunk) * words, source);
+        }
+
+        void fill(int numberOfRows, RowSource source) {
+            long[] row = new long[words];
+            for (int r = 0; r < numberOfRows; r++) {
+                Arrays.fill(row, 0);
+                source.fill(r, row);
+                write(r, row);
+            }
+        }
+
+        int count(int row) {
+            int count = 0;
+            for (int w = 0; w < words; w++) {
+                count += Long.bitCount(word(row, w));
+            }
+            return count;
+        }
+
+        int[] indices(int row) {
+            int[] result = new int[count(row)];
+            int i = 0;
+            for (int w = 0; w < words; w++) {
+                long word = word(row, w);
+                while (word != 0) {
+                    result[i++] = (w << 6) + Long.numberOfTrailingZeros(word);
+                    word &= word - 1;
+                }
+            }
+            return result;
+        }
+    }
+
+    private MappedMatrix(int numberOfRows, int numberOfColumns) {
+        this.rows = new MappedBits(numberOfRows, numberOfColumns);
+        this.columns = new MappedBits(numberOfColumns, numberOfRows);
+        this.numberOfRows = numberOfRows;
+        this.numberOfColumns = numberOfColumns;
+    }
+
+    /**
+     * Copies the matrix into mapped files one row and one column at a time, so that the whole matrix is never on the
+     * heap twice.
+     */
+    public static MappedMatrix of(BinaryMatrix matrix) {
+        if (matrix instanceof MappedMatrix mapped) {
+            return mapped;
+        }
+        return create(matrix.getNumberOfRows(), matrix.getNumberOfColumns(), (row, words) -> {
+            for (int column : matrix.getRow(row)) {
+                words[column >>> 6] |= 1L << column;
+            }
+        }, (column, words) -> {
+            for (int row : matrix.getColumn(column)) {
+                words[row >>> 6] |= 1L << row;
+            }
+        });
+    }
+
+    public static MappedMatrix of(boolean[][] matrix) {
+        return of(BitMatrix.of(matrix));
+    }
+
+    /**
+     * Sets the cells straight in the mapped files, so that no other matrix of the cells is built on the heap.
+     *
+     * @param cells the row and column of every set cell, one after the other
+     * @param size  the number of used entries of the cells array, two per cell
+     */
+    static MappedMatrix fromCells(int[] cells, int size, int numberOfRows, int numberOfColumns) {
+        MappedMatrix matrix = new MappedMatrix(numberOfRows, numberOfColumns);
+        for (int i = 0; i < size; i += 2) {
+            matrix.rows.set(cells[i], cells[i + 1]);
+            matrix.columns.set(cells[i + 1], cells[i]);
+        }
+        return matrix;
+    }
+
+    private static MappedMatrix create(int numberOfRows, int numberOfColumns, RowSource rowSource, RowSource columnSource) {
+        MappedMatrix matrix = new MappedMatrix(numberOfRows, numberOfColumns);
+        matrix.rows.fill(numberOfRows, rowSource);
+        matrix.columns.fill(numberOfColumns, columnSource);
+        return matrix;
+    }
+
+    /**
+     * A mapping stays valid after its file is deleted, except on platforms that do not allow deleting a mapped file.
+     */
+    private static void deleteMappedFile(Path file) {
+        try {
+            Files.delete(file);
+        } catch (IOException e) {
+            file.toFile().deleteOnExit();
+        }
+    }
+
+    @Override
+    public int getNumberOfRows() {
+        return numberOfRows;
+    }
+
+    @Override
+    public int getNumberOfColumns() {
+        return numberOfColumns;
+    }
+
+    @Override
+    public boolean get(int row, int column) {
+        return rows.get(row, column);
+    }
+
+    @Override
+    public int[] getRow(int row) {
+        return rows.indices(row);
+    }
+
+    @Override
+    public int[] getColumn(int column) {
+        return columns.indices(column);
+    }
+
+    @Override
+    public int countRow(int row) {
+        return rows.count(row);
+    }
+
+    @Override
+    public int countColumn(int column) {
+        return columns.count(column);
+    }
+
+    @Override
+    public boolean rowsEqual(int row1, int row2) {
+        for (int w = 0; w < rows.words; w++) {
+            if (rows.word(row1, w) != rows.word(row2, w)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int rowHash(int row) {
+        int hash = 1;
+        for (int w = 0; w < rows.words; w++) {
+            hash = 31 * hash + Long.hashCode(rows.word(row, w));
+        }
+        return hash;
+    }
+
+    @Override
+    public MappedMatrix removeRows(int[] rowsToRemove) {
+        if (rowsToRemove.length == 0) {
+            return this;
+        }
+        boolean[] removed = new boolean[numberOfRows];
+        for (int row : rowsToRemove) {
+            removed[row] = true;
+        }
+        int[] keptRows = new int[numberOfRows - rowsToRemove.length];
+        int r = 0;
+        for (int i = 0; i < numberOfRows; i++) {
+            if (!removed[i]) {
+                keptRows[r++] = i;
+            }
+        }
+        long[] column = new long[columns.words];
+        return create(keptRows.length, numberOfColumns, (row, words) -> rows.read(keptRows[row], words), (c, words) -> {
+            columns.read(c, column);
+            for (int i = 0; i < keptRows.length; i++) {
+                if ((column[keptRows[i] >>> 6] & (1L << keptRows[i])) != 0) {
+                    words[i >>> 6] |= 1L << i;
+                }
+            }
+        });
+    }
+
+    @Override
+    public MappedMatrix extractColumns(int[] columnsToKeep) {
+        int[] keptColumns = columnsToKeep.clone();
+        Arrays.sort(keptColumns);
+        return create(numberOfRows, keptColumns.length, (row, words) -> {
+            for (int c = 0; c < keptColumns.length; c++) {
+                if (get(row, keptColumns[c])) {
+                    words[c >>> 6] |= 1L << c;
+                }
+            }
+        }, (c, words) -> columns.read(keptColumns[c], words));
+    }
+
+    @Override
+    public boolean[][] toArray() {
+        boolean[][] result = new boolean[numberOfRows][numberOfColumns];
+        for (int r = 0; r < numberOfRows; r++) {
+            for (int c = 0; c < numberOfColumns; c++) {
+                result[r][c] = get(r, c);
+            }
+        }
+        return result;
+    }
+}
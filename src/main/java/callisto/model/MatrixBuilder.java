@@ -0,0 +1,69 @@
+package callisto.model;
+
+import java.util.Arrays;
+
+/**
+ * Collects kill and coverage cells one mutant at a time, so that the matrices can be built without knowing their
+ * dimensions in advance. The resulting matrices are sparse, as a mutant is only covered by a small part of the tests.
+ */
+public class MatrixBuilder {
+    private int[] killCells = new int[64];
+    private int killSize = 0;
+
+    private int[] coverageCells = new int[64];
+    private int coverageSize = 0;
+
+    public void addKill(int test, int mutant) {
+        killCells = ensureCapacity(killCells, killSize + 2);
+        killCells[killSize++] = test;
+        killCells[killSize++] = mutant;
+    }
+
+    public void addCoverage(int test, int mutant) {
+        coverageCells = ensureCapacity(coverageCells, coverageSize + 2);
+        coverageCells[coverageSize++] = test;
+        coverageCells[coverageSize++] = mutant;
+    }
+
+    /**
+     * Changes the indices of the cells collected so far.
+     *
+     * @param tests   the new index of every test, or null to keep the test indices
+     * @param mutants the new index of every mutant, or null to keep the mutant indices
+     */
+    public void renumber(int[] tests, int[] mutants) {
+        renumber(killCells, killSize, tests, mutants);
+        renumber(coverageCells, coverageSize, tests, mutants);
+    }
+
+    private static void renumber(int[] cells, int size, int[] tests, int[] mutants) {
+        for (int i = 0; i < size; i += 2) {
+            if (tests != null) {
+                cells[i] = tests[cells[i]];
+            }
+            if (mutants != null) {
+                cells[i + 1] = mutants[cells[i + 1]];
+            }
+        }
+    }
+
+    public MutationMatrices build(int numberOfTests, int numberOfMutants) {
+        return new MutationMatrices(SparseMatrix.fromCells(killCells, killSize, numberOfTests, numberOfMutants),
+                SparseMatrix.fromCells(coverageCells, coverageSize, numberOfTests, numberOfMutants));
+    }
+
+    /**
+     * Builds the matrices in memory-mapped files straight from the cells, without building them on the heap first.
+     */
+    public MutationMatrices buildMapped(int numberOfTests, int numberOfMutants) {
+        return new MutationMatrices(MappedMatrix.fromCells(killCells, killSize, numberOfTests, numberOfMutants),
+                MappedMatrix.fromCells(coverageCells, coverageSize, numberOfTests, numberOfMutants));
+    }
+
+    private static int[] ensureCapacity(int[] array, int capacity) {
+        if (capacity <= array.length) {
+            return array;
+        }
+        return Arrays.copyOf(array, Math.max(capacity, array.length * 2));
+    }
+}
@@ -0,0 +1,170 @@
+package callisto.model;
+
+import java.util.Arrays;
+
+/**
+ * {@link BinaryMatrix} that selects rows and columns of a backing matrix without copying any cells. Removing rows or
+ * extracting columns of a view results in a new view of the same backing matrix, so a chain of selections never copies
+ * the matrix. Queries translate between view and backing indices, so their cost is that of the backing row or column.
+ * A view only holds its own row and column indices, so many small views of a large matrix stay cheap.
+ */
+public class MatrixView implements BinaryMatrix {
+    private final BinaryMatrix backing;
+
+    /**
+     * Backing row of every row in ascending order, or null when the view has all rows of the backing matrix.
+     */
+    private final int[] rows;
+
+    /**
+     * Backing column of every column in ascending order, or null when the view has all columns of the backing matrix.
+     */
+    private final int[] columns;
+
+    private MatrixView(BinaryMatrix backing, int[] rows, int[] columns) {
+        this.backing = backing;
+        this.rows = rows;
+        this.columns = columns;
+    }
+
+    /**
+     * @return a view of all rows and columns of the matrix, or the matrix itself if it is a view already
+     */
+    public static MatrixView of(BinaryMatrix matrix) {
+        return matrix instanceof MatrixView view ? view : new MatrixView(matrix, null, null);
+    }
+
+    private int backingRow(int row) {
+        return rows == null ? row : rows[row];
+    }
+
+    private int backingColumn(int column) {
+        return columns == null ? column : columns[column];
+    }
+
+    @Override
+    public int getNumberOfRows() {
+        return rows == null ? backing.getNumberOfRows() : rows.length;
+    }
+
+    @Override
+    public int getNumberOfColumns() {
+        return columns == null ? backing.getNumberOfColumns() : columns.length;
+    }
+
+    @Override
+    public boolean get(int row, int column) {
+        return backing.get(backingRow(row), backingColumn(column));
+    }
+
+    @Override
+    public int[] getRow(int row) {
+        return translate(backing.getRow(backingRow(row)), columns);
+    }
+
+    @Override
+    public int[] getColumn(int column) {
+        return translate(backing.getColumn(backingColumn(column)), rows);
+    }
+
+    /**
+     * Maps ascending backing indices to view indices in place, and drops those outside the view.
+     *
+     * @param selected the ascending backing indices in the view, or null if the view has all of them
+     */
+    private static int[] translate(int[] backingIndices, int[] selected) {
+        if (selected == null) {
+            return backingIndices;
+        }
+        int size = 0;
+        int from = 0;
+        for (int backingIndex : backingIndices) {
+            int i = Arrays.binarySearch(selected, from, selected.length, backingIndex);
+            if (i >= 0) {
+                backingIndices[size++] = i;
+            }
+            // later backing indices are larger, so the search continues from here
+            from = i >= 0 ? i + 1 : -i - 1;
+            if (from == selected.length) {
+                break;
+            }
+        }
+        return size == backingIndices.length ? backingIndices : Arrays.copyOf(backingIndices, size);
+    }
+
+    @Override
+    public int countRow(int row) {
+        return columns == null ? backing.countRow(backingRow(row)) : getRow(row).length;
+    }
+
+    @Override
+    public int countColumn(int column) {
+        return rows == null ? backing.countColumn(backingColumn(column)) : getColumn(column).length;
+    }
+
+    @Override
+    public boolean rowsEqual(int row1, int row2) {
+        if (columns == null) {
+            return backing.rowsEqual(backingRow(row1), backingRow(row2));
+        }
+        return Arrays.equals(getRow(row1), getRow(row2));
+    }
+
+    @Override
+    public int rowHash(int row) {
+        return columns == null ? backing.rowHash(backingRow(row)) : Arrays.hashCode(getRow(row));
+    }
+
+    @Override
+    public MatrixView removeRows(int[] rowsToRemove) {
+        if (rowsToRemove.length == 0) {
+            return this;
+        }
+        int numberOfRows = getNumberOfRows();
+        boolean[] removed = new boolean[numberOfRows];
+        for (int row : rowsToRemove) {
+            removed[row] = true;
+        }
+        int[] newRows = new int[numberOfRows - rowsToRemove.length];
+        int r = 0;
+        for (int i = 0; i < numberOfRows; i++) {
+            if (!removed[i]) {
+                newRows[r++] = backingRow(i);
+            }
+        }
+        return new MatrixView(backing, newRows, columns);
+    }
+
+    @Override
+    public MatrixView keepRows(int[] rowsToKeep) {
+        int[] newRows = new int[rowsToKeep.length];
+        for (int r = 0; r < rowsToKeep.length; r++) {
+            newRows[r] = backingRow(rowsToKeep[r]);
+        }
+        return new MatrixView(backing, newRows, columns);
+    }
+
+    @Override
+    public MatrixView extractColumns(int[] columnsToKeep) {
+        int[] newColumns = columnsToKeep.clone();
+        Arrays.sort(newColumns);
+        for (int c = 0; c < newColumns.length; c++) {
+            newColumns[c] = backingColumn(newColumns[c]);
+        }
+        return new MatrixView(backing, rows, newColumns);
+    }
+
+    /**
+     * The only operation of a view that copies the cells.
+     */
+    @Override
+    public boolean[][] toArray() {
+        boolean[][] result = new boolean[getNumberOfRows()][getNumberOfColumns()];
+        for (int r = 0; r < result.length; r++) {
+            for (int column : getRow(r)) {
+                result[r][column] = true;
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,119 @@
+package callisto.model;
+
+import callisto.model.MutationReport.Mutant;
+
+import java.util.BitSet;
+
+/**
+ * The mutants of a report as Callisto uses them after ingestion: one entry per matrix column, stored as primitive
+ * arrays instead of a {@link Mutant} object per mutant. The mutation operator is stored as the id of its name in the
+ * alphabetical list of operators. Locations, replacements and descriptions are only needed to deduce the mutation
+ * operator, so they are not part of the table.
+ */
+public class MutantTable {
+    private static final Mutant.Status[] STATUSES = Mutant.Status.values();
+
+    private final String[] operators;
+
+    private final int[] operatorIds;
+
+    /**
+     * Ordinal of the status of every mutant, or -1 if the report has no status for it.
+     */
+    private final byte[] statuses;
+
+    private final BitSet staticMutants;
+
+    /**
+     * Number of tests completed for every mutant, or -1 if the report does not say.
+     */
+    private final int[] testsCompleted;
+
+    MutantTable(String[] operators, int[] operatorIds, byte[] statuses, BitSet staticMutants, int[] testsCompleted) {
+        this.operators = operators;
+        this.operatorIds = operatorIds;
+        this.statuses = statuses;
+        this.staticMutants = staticMutants;
+        this.testsCompleted = testsCompleted;
+    }
+
+    /**
+     * @param mutantIds the matrix column of every mutant id
+     */
+    static MutantTable of(Mutant[] mutants, IdDictionary mutantIds) {
+        MutantTableBuilder builder = new MutantTableBuilder();
+        for (Mutant mutant : mutants) {
+            int column = mutantIds.indexOf(mutant.getId());
+            builder.add(column, mutant.getStatus(), Boolean.TRUE.equals(mutant.getStatic()), mutant.getTestsCompleted());
+            builder.setOperator(column, mutant.getMutatorName());
+        }
+        return builder.build(null, mutantIds.size());
+    }
+
+    public int size() {
+        return operatorIds.length;
+    }
+
+    /**
+     * @return the mutation operators of the mutants in alphabetical order, the position of a name is its id
+     */
+    public String[] getOperators() {
+        return operators.clone();
+    }
+
+    public int getOperatorId(int column) {
+        return operatorIds[column];
+    }
+
+    public String getOperator(int column) {
+        return operators[operatorIds[column]];
+    }
+
+    public Mutant.Status getStatus(int column) {
+        return statuses[column] == -1 ? null : STATUSES[statuses[column]];
+    }
+
+    public boolean isKilled(int column) {
+        return statuses[column] == Mutant.Status.KILLED.ordinal();
+    }
+
+    public boolean isStatic(int column) {
+        return staticMutants.get(column);
+    }
+
+    /**
+     * @return the number of tests completed for the mutant, or -1 if unknown
+     */
+    public int getTestsCompleted(int column) {
+        return testsCompleted[column];
+    }
+
+    /**
+     * Creates a schema object of the mutant, with the fields that are in the table.
+     */
+    Mutant toMutant(int column, IdDictionary mutantIds) {
+        Mutant mutant = new Mutant();
+        mutant.setId(mutantIds.getId(column));
+        mutant.setMutatorName(getOperator(column));
+        mutant.setStatus(getStatus(column));
+        mutant.setStatic(isStatic(column));
+        mutant.setTestsCompleted(testsCompleted[column] == -1 ? null : (double) testsCompleted[column]);
+        return mutant;
+    }
+
+    int[] getOperatorIds() {
+        return operatorIds;
+    }
+
+    byte[] getStatuses() {
+        return statuses;
+    }
+
+    BitSet getStaticMutants() {
+        return staticMutants;
+    }
+
+    int[] getTestsCompleted() {
+        return testsCompleted;
+    }
+}
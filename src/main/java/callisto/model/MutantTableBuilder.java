@@ -0,0 +1,83 @@
+package callisto.model;
+
+import callisto.model.MutationReport.Mutant;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * Collects the columns of a {@link MutantTable} one mutant at a time, so that a reader does not have to keep a
+ * {@link Mutant} object per mutant until the end of the report. The status, static flag and number of completed tests
+ * are known as soon as a mutant is read, its mutation operator only once the operators of its file are deduced, which
+ * may happen in another thread. Mutants are added by their index in the order of first occurrence, and moved to their
+ * matrix column when the table is built.
+ */
+class MutantTableBuilder {
+    private final IdDictionary operators = new IdDictionary();
+    private int[] operatorIds = new int[64];
+    private byte[] statuses = new byte[64];
+    private final BitSet staticMutants = new BitSet();
+    private int[] testsCompleted = new int[64];
+
+    /**
+     * Sets the fields of the mutant other than its mutation operator.
+     */
+    synchronized void add(int mutant, Mutant.Status status, boolean isStatic, Double testsCompleted) {
+        ensureCapacity(mutant + 1);
+        statuses[mutant] = status == null ? -1 : (byte) status.ordinal();
+        staticMutants.set(mutant, isStatic);
+        //static test executions included
+        this.testsCompleted[mutant] = testsCompleted == null ? -1 : testsCompleted.intValue();
+    }
+
+    synchronized void setOperator(int mutant, String operator) {
+        ensureCapacity(mutant + 1);
+        operatorIds[mutant] = operators.add(operator);
+    }
+
+    /**
+     * @param columns the matrix column of every mutant, or null if the mutants are in the order of their columns
+     * @param size    the number of mutants
+     */
+    synchronized MutantTable build(int[] columns, int size) {
+        ensureCapacity(size);
+        // operator ids are the positions of the operators in alphabetical order
+        String[] names = new String[operators.size()];
+        for (int i = 0; i < names.length; i++) {
+            names[i] = operators.getId(i);
+        }
+        Integer[] order = new Integer[names.length];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (first, second) -> names[first].compareTo(names[second]));
+        String[] sortedNames = new String[names.length];
+        int[] sortedIds = new int[names.length];
+        for (int i = 0; i < order.length; i++) {
+            sortedNames[i] = names[order[i]];
+            sortedIds[order[i]] = i;
+        }
+        int[] columnOperatorIds = new int[size];
+        byte[] columnStatuses = new byte[size];
+        BitSet columnStaticMutants = new BitSet(size);
+        int[] columnTestsCompleted = new int[size];
+        for (int mutant = 0; mutant < size; mutant++) {
+            int column = columns == null ? mutant : columns[mutant];
+            columnOperatorIds[column] = sortedIds[operatorIds[mutant]];
+            columnStatuses[column] = statuses[mutant];
+            columnStaticMutants.set(column, staticMutants.get(mutant));
+            columnTestsCompleted[column] = testsCompleted[mutant];
+        }
+        return new MutantTable(sortedNames, columnOperatorIds, columnStatuses, columnStaticMutants, columnTestsCompleted);
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity <= operatorIds.length) {
+            return;
+        }
+        int length = Math.max(capacity, operatorIds.length * 2);
+        operatorIds = Arrays.copyOf(operatorIds, length);
+        statuses = Arrays.copyOf(statuses, length);
+        testsCompleted = Arrays.copyOf(testsCompleted, length);
+    }
+}
@@ -1,34 +1,54 @@
 package callisto.model;
 
-import callisto.logic.Calculator;
+import callisto.logic.MinimalizationResult;
 import callisto.logic.Minimalizer;
+import callisto.logic.SolverSettings;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 public class MutationMatrices {
     public static final int MCOV = 4;
-    private final boolean[][] killMatrix;
+    private final BinaryMatrix killMatrix;
 
-    private final boolean[][] coverageMatrix;
+    private final BinaryMatrix coverageMatrix;
 
     private final int numberOfMutants;
 
     private final int numberOfTests;
 
+    /**
+     * Properties derived from the matrices, computed on first use. The matrices are immutable, so they never change.
+     */
+    private volatile Derived derived;
+
     public MutationMatrices(boolean[][] killMatrix, boolean[][] coverageMatrix) {
+        this(BitMatrix.of(killMatrix), BitMatrix.of(coverageMatrix));
+    }
+
+    public MutationMatrices(BinaryMatrix killMatrix, BinaryMatrix coverageMatrix) {
         this.killMatrix = killMatrix;
         this.coverageMatrix = coverageMatrix;
-        this.numberOfMutants = killMatrix[0].length; //take any row to see the number of columns
-        this.numberOfTests = killMatrix.length;
+        this.numberOfMutants = killMatrix.getNumberOfColumns();
+        this.numberOfTests = killMatrix.getNumberOfRows();
     }
 
     public boolean[][] getKillMatrix() {
-        return killMatrix;
+        return killMatrix.toArray();
     }
 
     public boolean[][] getCoverageMatrix() {
+        return coverageMatrix.toArray();
+    }
+
+    public BinaryMatrix getKills() {
+        return killMatrix;
+    }
+
+    public BinaryMatrix getCoverage() {
         return coverageMatrix;
     }
 
@@ -41,151 +61,220 @@ public class MutationMatrices {
     }
 
     public MutationMatrices minimalize(String solver) {
+        return minimalize(SolverSettings.of(solver));
+    }
+
+    public MutationMatrices minimalize(SolverSettings settings) {
+        return minimalizeWithBound(settings).matrices();
+    }
+
+    /**
+     * Minimalizes the test suite and keeps the lower bound on the minimal test suite size reported by the minimalizer.
+     */
+    public MinimalizedMatrices minimalizeWithBound(SolverSettings settings) {
         MutationMatrices noDuplicates = removeDuplicateTests();
-        int[] rowsToRemove = Minimalizer.minimalize(noDuplicates.getKillMatrix(), solver);
-        return noDuplicates.removeRows(rowsToRemove);
+        MinimalizationResult result = Minimalizer.minimalizeWithBound(noDuplicates.getKills(), settings);
+        return new MinimalizedMatrices(noDuplicates.removeRows(result.rowsToRemove()), result.lowerBound());
     }
 
     public MutationMatrices removeDuplicateTests() {
-        List<Integer> duplicateTests = new ArrayList<>();
-        for (int test1 = 0; test1 < numberOfTests; test1++) {
-            //don't check a test that is marked duplicate already
-            if (!duplicateTests.contains(test1)) {
-                for (int test2 = test1 + 1; test2 < numberOfTests; test2++) {
-                    // no need to mark a test duplicate if it already is
-                    if (duplicateTests.contains(test2)) {
-                        continue;
-                    }
-                    // check if test1 and test2 are equal:
-                    for (int m = 0; m < numberOfMutants; m++) {
-                        if (killMatrix[test1][m] != killMatrix[test2][m]) {
-                            break; //difference detected, not a duplicate
-                        }
-                        //reached end of loop, no differences detected, so duplicate!
-                        if (m == numberOfMutants - 1) {
-                            duplicateTests.add(test2);
-                        }
-                    }
+        return removeRows(findDuplicateTests().tests());
+    }
+
+    /**
+     * Finds tests that kill exactly the same mutants as an earlier test. Tests are bucketed by the hash of their kill
+     * row, so that rows only have to be compared to the distinct rows in their own bucket.
+     */
+    public DuplicateTests findDuplicateTests() {
+        Map<Integer, List<Integer>> buckets = new HashMap<>();
+        boolean[] hasDuplicates = new boolean[numberOfTests];
+        int[] duplicateTests = new int[numberOfTests];
+        int numberOfDuplicates = 0;
+        int groups = 0;
+        for (int test = 0; test < numberOfTests; test++) {
+            List<Integer> bucket = buckets.computeIfAbsent(killMatrix.rowHash(test), k -> new ArrayList<>(1));
+            int original = -1;
+            for (int candidate : bucket) {
+                if (killMatrix.rowsEqual(candidate, test)) {
+                    original = candidate;
+                    break;
                 }
             }
+            if (original == -1) {
+                bucket.add(test);
+                continue;
+            }
+            duplicateTests[numberOfDuplicates++] = test;
+            if (!hasDuplicates[original]) {
+                hasDuplicates[original] = true;
+                groups++;
+            }
         }
-        return removeRows(duplicateTests.stream().mapToInt(i -> i).toArray());
+        return new DuplicateTests(Arrays.copyOf(duplicateTests, numberOfDuplicates), groups);
     }
 
+    /**
+     * @return views of the remaining tests, which share the cells of these matrices
+     */
     public MutationMatrices removeRows(int[] rowsToRemove) {
         if (rowsToRemove.length == 0) {
             return this;
         }
-        boolean[][] newKillMatrix = new boolean[numberOfTests - rowsToRemove.length][numberOfMutants];
-        boolean[][] newCoverageMatrix = new boolean[numberOfTests - rowsToRemove.length][numberOfMutants];
-        int r = 0;
-        for (int i = 0; i < numberOfTests; i++) {
-            if (Calculator.intArrayContains(rowsToRemove, i)) {
-                continue;
-            }
-            for (int m = 0; m < numberOfMutants; m++) {
-                newKillMatrix[r][m] = killMatrix[i][m];
-                newCoverageMatrix[r][m] = coverageMatrix[i][m];
-            }
-            r++;
-        }
-        return new MutationMatrices(newKillMatrix, newCoverageMatrix);
+        return new MutationMatrices(MatrixView.of(killMatrix).removeRows(rowsToRemove), MatrixView.of(coverageMatrix).removeRows(rowsToRemove));
     }
 
+    /**
+     * @return views of the given mutants, which share the cells of these matrices
+     */
     public MutationMatrices extractColumns(int[] columnsToKeep) {
-        boolean[][] newKillMatrix = new boolean[numberOfTests][columnsToKeep.length];
-        boolean[][] newCoverageMatrix = new boolean[numberOfTests][columnsToKeep.length];
-        for (int t = 0; t < numberOfTests; t++) {
-            int c = 0;
-            for (int j = 0; j < numberOfMutants; j++) {
-                if (!Calculator.intArrayContains(columnsToKeep, j)) {
-                    continue;
-                }
-                newKillMatrix[t][c] = killMatrix[t][j];
-                newCoverageMatrix[t][c] = coverageMatrix[t][j];
-                c++;
-            }
-        }
-        return new MutationMatrices(newKillMatrix, newCoverageMatrix);
+        return new MutationMatrices(MatrixView.of(killMatrix).extractColumns(columnsToKeep), MatrixView.of(coverageMatrix).extractColumns(columnsToKeep));
     }
 
     public int[] getEquivalentMutants() {
-        List<Integer> result = new ArrayList<>();
+        long[] killed = derived().killedMutants();
+        int[] result = new int[numberOfMutants - countKilledMutants()];
+        int i = 0;
         for (int m = 0; m < numberOfMutants; m++) {
             //everything which is not killed is assumed to be equivalent (i.e. adequate test suite)
-            if (!isKilled(m)) {
-                result.add(m);
+            if (!BitMatrix.isSet(killed, m)) {
+                result[i++] = m;
             }
         }
-        return result.stream().mapToInt(i -> i).toArray();
+        return result;
     }
 
     public boolean isKilled(int mutant) {
-        for (int i = 0; i < numberOfTests; i++) {
-            if (killMatrix[i][mutant]){
-                return true;
-            }
-        }
-        return false;
+        return BitMatrix.isSet(derived().killedMutants(), mutant);
+    }
+
+    public int countKilledMutants() {
+        return derived().numberOfKilledMutants();
     }
 
     public int[] getKillersOfMutant(int mutant) {
-        List<Integer> result = new ArrayList<>();
-        for (int test = 0; test < numberOfTests; test++) {
-            if (killMatrix[test][mutant]){
-                result.add(test);
-            }
-        }
-        return result.stream().mapToInt(i -> i).toArray();
+        return killMatrix.getColumn(mutant);
     }
 
     public int[] getCoverersOfMutant(int mutant) {
-        List<Integer> result = new ArrayList<>();
-        for (int test = 0; test < numberOfTests; test++) {
-            if (coverageMatrix[test][mutant]){
-                result.add(test);
-            }
-        }
-        return result.stream().mapToInt(i -> i).toArray();
+        return coverageMatrix.getColumn(mutant);
+    }
+
+    public int countKillersOfMutant(int mutant) {
+        return derived().killerCounts()[mutant];
+    }
+
+    public int countCoverersOfMutant(int mutant) {
+        return derived().covererCounts()[mutant];
     }
 
     public int[] getMutantsKilledByTest(int test) {
-        List<Integer> result = new ArrayList<>();
-        for (int mutant = 0; mutant < numberOfMutants; mutant++) {
-            if (killMatrix[test][mutant]) {
-                result.add(mutant);
-            }
-        }
-        return result.stream().mapToInt(i -> i).toArray();
+        return killMatrix.getRow(test);
     }
 
     public int[] getMutantsCoveredByTest(int test) {
-        List<Integer> result = new ArrayList<>();
-        for (int mutant = 0; mutant < numberOfMutants; mutant++) {
-            if (coverageMatrix[test][mutant]) {
-                result.add(mutant);
-            }
-        }
-        return result.stream().mapToInt(i -> i).toArray();
+        return coverageMatrix.getRow(test);
+    }
+
+    public int countMutantsKilledByTest(int test) {
+        return derived().killCounts()[test];
+    }
+
+    /**
+     * @return the number of mutants covered by the test that are not equivalent
+     */
+    public int countNonEquivalentMutantsCoveredByTest(int test) {
+        return derived().nonEquivalentCoverageCounts()[test];
     }
 
     public boolean isMutantDifficultToReach(int mutant) {
         int sum = 0;
-        int[] coverersOfMutant = getCoverersOfMutant(mutant);
-        int[] equivalentMutants = getEquivalentMutants();
-        for (int test : coverersOfMutant) {
-            sum += (int) Arrays.stream(getMutantsCoveredByTest(test)).filter(m -> !Calculator.intArrayContains(equivalentMutants, m)).count();
+        for (int test : getCoverersOfMutant(mutant)) {
+            sum += countNonEquivalentMutantsCoveredByTest(test);
         }
         return sum <= MCOV;
     }
 
+    private Derived derived() {
+        Derived result = derived;
+        if (result == null) {
+            synchronized (this) {
+                result = derived;
+                if (result == null) {
+                    result = Derived.of(killMatrix, coverageMatrix);
+                    derived = result;
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @param killedMutants               mask of the mutants killed by at least one test
+     * @param killCounts                  number of mutants killed by every test
+     * @param nonEquivalentCoverageCounts number of killed mutants covered by every test
+     * @param killerCounts                number of tests killing every mutant
+     * @param covererCounts               number of tests covering every mutant
+     */
+    private record Derived(long[] killedMutants, int numberOfKilledMutants, int[] killCounts, int[] nonEquivalentCoverageCounts, int[] killerCounts, int[] covererCounts) {
+        /**
+         * Computes all properties in one pass over the rows of both matrices, which is efficient for every kind of
+         * matrix.
+         */
+        static Derived of(BinaryMatrix killMatrix, BinaryMatrix coverageMatrix) {
+            int numberOfTests = killMatrix.getNumberOfRows();
+            int numberOfMutants = killMatrix.getNumberOfColumns();
+            long[] killedMutants = new long[BitMatrix.words(numberOfMutants)];
+            int[] killCounts = new int[numberOfTests];
+            int[] killerCounts = new int[numberOfMutants];
+            for (int t = 0; t < numberOfTests; t++) {
+                int[] killed = killMatrix.getRow(t);
+                killCounts[t] = killed.length;
+                for (int m : killed) {
+                    killedMutants[m >>> 6] |= 1L << m;
+                    killerCounts[m]++;
+                }
+            }
+            int numberOfKilledMutants = 0;
+            for (long word : killedMutants) {
+                numberOfKilledMutants += Long.bitCount(word);
+            }
+            int[] nonEquivalentCoverageCounts = new int[numberOfTests];
+            int[] covererCounts = new int[numberOfMutants];
+            for (int t = 0; t < numberOfTests; t++) {
+                for (int m : coverageMatrix.getRow(t)) {
+                    covererCounts[m]++;
+                    if (BitMatrix.isSet(killedMutants, m)) {
+                        nonEquivalentCoverageCounts[t]++;
+                    }
+                }
+            }
+            return new Derived(killedMutants, numberOfKilledMutants, killCounts, nonEquivalentCoverageCounts, killerCounts, covererCounts);
+        }
+    }
+
+    /**
+     * @param tests  the duplicate tests, in ascending order. The first test of every group is not included
+     * @param groups the number of groups of equal tests that had duplicates
+     */
+    public record DuplicateTests(int[] tests, int groups) {}
+
+    public record MinimalizedMatrices(MutationMatrices matrices, int lowerBound) {
+        /**
+         * @return worst-case relative distance in percent between the test suite size and the minimal test suite size
+         */
+        public double gap() {
+            int size = matrices.getNumberOfTests();
+            return size == 0 ? 0 : (double) (size - lowerBound) / size * 100;
+        }
+    }
+
     public void printKillMatrix() {
         StringBuilder line;
         System.out.println("Kill matrix size: " + numberOfTests + " X " + numberOfMutants);
         for (int t = 0; t < numberOfTests; t++) {
             line = new StringBuilder();
             for (int m = 0; m < numberOfMutants; m++) {
-                char symbol = killMatrix[t][m] ? 'X' : ' ';
+                char symbol = killMatrix.get(t, m) ? 'X' : ' ';
                 line.append(symbol);
             }
             System.out.println(line);
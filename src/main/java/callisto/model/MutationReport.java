@@ -2,6 +2,9 @@ package callisto.model;
 
 import java.net.URI;
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
 
 import com.fasterxml.jackson.annotation.*;
 import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
@@ -28,9 +31,41 @@ public class MutationReport {
     @JsonIgnore
     private Mutant[] mutants;
 
+    /**
+     * The mutants as Callisto uses them, by matrix column. Reports that are ingested by {@link MutationReportReader}
+     * or read from a {@link ReportCache} only have this table, their {@link Mutant} objects are created on request.
+     */
+    @JsonIgnore
+    private MutantTable mutantTable;
+
     @JsonIgnore
     private Test[] tests;
 
+    @JsonIgnore
+    private MutationMatrices matrices;
+
+    @JsonIgnore
+    private OperatorIndex operatorIndex;
+
+    /**
+     * Matrix column of every mutant id.
+     */
+    @JsonIgnore
+    private IdDictionary mutantIds;
+
+    /**
+     * Matrix row of every test id.
+     */
+    @JsonIgnore
+    private IdDictionary testIds;
+
+    /**
+     * Diagnostics for the unknown mutations of a report that was ingested by {@link MutationReportReader} or read from
+     * a {@link ReportCache}, in file order, so that a cached report can print them as well.
+     */
+    @JsonIgnore
+    private String deductionDiagnostics = "";
+
     /**
      * Free-format object that represents the configuration used to run mutation testing.
      *
@@ -117,14 +152,101 @@ public class MutationReport {
     @JsonPropertyDescription("Information about the system that performed mutation testing.")
     private System system;
 
+    /**
+     * @return the mutants of the report, in matrix column order for reports that only have a {@link MutantTable}
+     */
     public Mutant[] getMutants() {
+        if (mutants == null && mutantTable != null) {
+            mutants = IntStream.range(0, mutantTable.size())
+                    .mapToObj(column -> mutantTable.toMutant(column, mutantIds))
+                    .toArray(Mutant[]::new);
+        }
         return mutants;
     }
 
+    public MutantTable getMutantTable() {
+        if (mutantTable == null) {
+            mutantTable = MutantTable.of(mutants, getMutantIds());
+        }
+        return mutantTable;
+    }
+
     public Test[] getTests() {
         return tests;
     }
 
+    public String getDeductionDiagnostics() {
+        return deductionDiagnostics;
+    }
+
+    /**
+     * @return the mutant id of every matrix column
+     */
+    public IdDictionary getMutantIds() {
+        if (mutantIds == null) {
+            indexIds(new IdDictionary());
+        }
+        return mutantIds;
+    }
+
+    /**
+     * @return the test id of every matrix row
+     */
+    public IdDictionary getTestIds() {
+        if (testIds == null) {
+            indexIds(new IdDictionary());
+        }
+        return testIds;
+    }
+
+    /**
+     * Indexes the ids of a report that was parsed as a whole. The test ids referenced by mutants are already in the
+     * dictionary the report was parsed with, as older reports do not define their tests.
+     *
+     * @param referencedTestIds the dictionary of the test indices of the mutants
+     */
+    private void indexIds(IdDictionary referencedTestIds) {
+        IdDictionary newMutantIds = new IdDictionary();
+        for (Test test : tests) {
+            referencedTestIds.add(test.id);
+        }
+        for (Mutant mutant : mutants) {
+            newMutantIds.add(mutant.id);
+            // mutants read without the dictionary of the report, or given test ids, have a dictionary of their own
+            if (mutant.testIds != null && mutant.testIds != referencedTestIds) {
+                mutant.killedBy = reindex(mutant.killedBy, mutant.testIds, referencedTestIds);
+                mutant.coveredBy = reindex(mutant.coveredBy, mutant.testIds, referencedTestIds);
+            }
+        }
+        newMutantIds.sortNumeric();
+        int[] newTestIndices = referencedTestIds.sortNumeric();
+        for (Mutant mutant : mutants) {
+            if (newTestIndices != null) {
+                renumber(mutant.killedBy, newTestIndices);
+                renumber(mutant.coveredBy, newTestIndices);
+            }
+            mutant.setTestIds(referencedTestIds);
+        }
+        mutantIds = newMutantIds;
+        testIds = referencedTestIds;
+    }
+
+    private static int[] reindex(int[] indices, IdDictionary oldTestIds, IdDictionary newTestIds) {
+        if (indices == null) {
+            return null;
+        }
+        return Arrays.stream(indices).map(index -> newTestIds.add(oldTestIds.getId(index))).toArray();
+    }
+
+    private static void renumber(int[] indices, int[] newIndices) {
+        if (indices == null) {
+            return;
+        }
+        for (int i = 0; i < indices.length; i++) {
+            indices[i] = newIndices[indices[i]];
+        }
+    }
+
     /**
      * Free-format object that represents the configuration used to run mutation testing.
      *
@@ -317,6 +439,15 @@ public class MutationReport {
         this.system = system;
     }
 
+    /**
+     * Same as {@link #initialize()}, for a report whose mutants were parsed with the given test id dictionary, see
+     * {@link TestIdsDeserializer}.
+     */
+    public void initialize(IdDictionary referencedTestIds) {
+        initialize();
+        indexIds(referencedTestIds);
+    }
+
     public void initialize() {
         // calculate and organize some derived information of the report
 
@@ -352,85 +483,118 @@ public class MutationReport {
         }
     }
 
+    /**
+     * Initializes a report that was ingested by {@link MutationReportReader}. The mutation operators of these mutants
+     * are already deduced, and the matrices are already built.
+     */
+    void initialize(MutantTable mutantTable, Test[] tests, IdDictionary mutantIds, IdDictionary testIds, MutationMatrices matrices, String deductionDiagnostics) {
+        this.mutantTable = mutantTable;
+        this.deductionDiagnostics = deductionDiagnostics;
+        this.tests = tests;
+        this.mutantIds = mutantIds;
+        this.testIds = testIds;
+        this.matrices = matrices;
+        this.operatorIndex = new OperatorIndex(mutantTable);
+    }
+
+    /**
+     * Deduces the mutation operators of the files in parallel, starting with the files with the most mutants so that
+     * a large file is not left for last. The diagnostics of every file are printed afterward, in file order.
+     */
     public void deduceMutationOperators() {
-        for (FileResult file : files.values()) {
-            String sourceCode = file.getSource();
-            for (Mutant mutant : file.mutants) {
-                String mutationOperatorName = MutationReportHelper.deduceMutationOperatorName(mutant, sourceCode);
-                mutant.setMutatorName(mutationOperatorName);
+        // streamed reports have no files, their mutation operators are deduced during ingestion
+        if (files == null) {
+            return;
+        }
+        FileResult[] fileResults = files.values().toArray(FileResult[]::new);
+        Integer[] largestFirst = new Integer[fileResults.length];
+        for (int i = 0; i < fileResults.length; i++) {
+            largestFirst[i] = i;
+        }
+        Arrays.sort(largestFirst, Comparator.comparingInt((Integer i) -> fileResults[i].mutants.size()).reversed());
+        String[] diagnostics = new String[fileResults.length];
+        AtomicInteger next = new AtomicInteger();
+        int workers = Math.min(fileResults.length, ForkJoinPool.getCommonPoolParallelism() + 1);
+        // every worker takes the next largest file, so the workers stay busy until the last files
+        IntStream.range(0, workers).parallel().forEach(worker -> {
+            int i;
+            while ((i = next.getAndIncrement()) < fileResults.length) {
+                FileResult file = fileResults[largestFirst[i]];
+                // files of a projected report have no source left, they are deduced while reading
+                diagnostics[largestFirst[i]] = file.source != null ? MutationReportHelper.deduceMutationOperators(file.mutants, file.getSourceIndex()) : "";
             }
+        });
+        for (String fileDiagnostics : diagnostics) {
+            java.lang.System.out.print(fileDiagnostics);
         }
+        deductionDiagnostics = String.join("", diagnostics);
+        mutantTable = MutantTable.of(mutants, getMutantIds());
+        operatorIndex = new OperatorIndex(mutantTable);
     }
 
-    public Mutant[] getMutantsByMutatorName(String mutatorName, boolean killedOnly, boolean useStatic) {
-        List<Mutant> mutants = new ArrayList<>();
-        for (Mutant mutant : this.mutants) {
-            if (mutant.mutatorName.equals(mutatorName)) {
-                if ((killedOnly && mutant.status == Mutant.Status.KILLED) || !killedOnly) {
-                    if ((!useStatic && !mutant.isStatic) || useStatic) {
-                        mutants.add(mutant);
-                    }
-                }
-            }
+    /**
+     * Returns the index of the mutants by mutation operator. It is built after the mutation operators are deduced, or
+     * on first use for reports that already contain the mutation operator of every mutant.
+     */
+    private OperatorIndex getOperatorIndex() {
+        if (operatorIndex == null) {
+            operatorIndex = new OperatorIndex(getMutantTable());
         }
-        return mutants.toArray(Mutant[]::new);
+        return operatorIndex;
+    }
+
+    /**
+     * @return the selected mutants, in matrix column order
+     */
+    public Mutant[] getMutantsByMutatorName(String mutatorName, boolean killedOnly, boolean useStatic) {
+        IdDictionary mutantIds = getMutantIds();
+        Mutant[] mutantsByColumn = new Mutant[mutantIds.size()];
+        for (Mutant mutant : getMutants()) {
+            mutantsByColumn[mutantIds.indexOf(mutant.id)] = mutant;
+        }
+        return Arrays.stream(getOperatorIndex().getColumns(mutatorName, killedOnly, useStatic))
+                .mapToObj(column -> mutantsByColumn[column])
+                .toArray(Mutant[]::new);
+    }
+
+    /**
+     * Same selection as {@link #getMutantsByMutatorName(String, boolean, boolean)}, but returns the matrix columns of
+     * the mutants.
+     */
+    public int[] getMutantColumnsByMutatorName(String mutatorName, boolean killedOnly, boolean useStatic) {
+        return getOperatorIndex().getColumns(mutatorName, killedOnly, useStatic);
     }
 
     public MutationMatrices getMatrices() {
-        int numberOfMutants = mutants.length;
-        int numberOfTests = tests.length;
-        boolean[][] killMatrix = new boolean[numberOfTests][numberOfMutants];
-        boolean[][] coverageMatrix = new boolean[numberOfTests][numberOfMutants];
+        if (matrices != null) {
+            return matrices;
+        }
+        IdDictionary mutantIds = getMutantIds();
+        IdDictionary testIds = getTestIds();
+        MatrixBuilder builder = new MatrixBuilder();
         for (Mutant mutant : mutants) {
-            int mutantId = Integer.parseInt(mutant.id);
+            int mutantIndex = mutantIds.indexOf(mutant.id);
+            int[] killedBy = mutant.killedBy != null ? mutant.killedBy : new int[0];
+            int[] coveredBy = mutant.coveredBy != null ? mutant.coveredBy : new int[0];
             //fill in killmatrix
-            if (mutant.killedBy != null) {
-                for (String testIdString : mutant.killedBy) {
-                    int testId = Integer.parseInt(testIdString);
-                    killMatrix[testId][mutantId] = true;
-                }
+            for (int test : killedBy) {
+                builder.addKill(test, mutantIndex);
             }
             // fill in coveragematrix
             // static mutants have no coverage info, so use killed info instead
-            if (mutant.isStatic)  {
-                if (mutant.killedBy != null) {
-                    for (String testIdString : mutant.killedBy) {
-                        int testId = Integer.parseInt(testIdString);
-                        coverageMatrix[testId][mutantId] = true;
-                    }
-                }
-            } else {
-                if (mutant.coveredBy != null) {
-                    for (String testIdString : mutant.coveredBy) {
-                    int testId = Integer.parseInt(testIdString);
-                        coverageMatrix[testId][mutantId] = true;
-                    }
-                }
+            for (int test : mutant.isStatic ? killedBy : coveredBy) {
+                builder.addCoverage(test, mutantIndex);
             }
         }
-        return new MutationMatrices(killMatrix, coverageMatrix);
+        return builder.build(testIds.size(), mutantIds.size());
     }
 
     public String[] getUsedMutators() {
-        List<String> mutators = new ArrayList<>();
-        for (Mutant mutant : mutants) {
-            if (!mutators.contains(mutant.mutatorName)) {
-                mutators.add(mutant.mutatorName);
-            }
-        }
-        mutators.sort(String::compareTo);
-        return mutators.toArray(String[]::new);
+        return getOperatorIndex().getOperators();
     }
 
     public int countTestExecutions(String mutator) {
-        double result = 0; //TODO: try to use int instead of double in the report class, see if jackson likes it
-        for (Mutant mutant : mutants) {
-            //static test executions included
-            if (mutant.mutatorName.equals(mutator) && mutant.testsCompleted != null) {
-                result += mutant.testsCompleted;
-            }
-        }
-        return (int) result;
+        return getOperatorIndex().getTestExecutions(mutator);
     }
 
     /**
@@ -620,6 +784,9 @@ public class MutationReport {
         @JsonPropertyDescription("Full source code of the original file (without mutants), this is used to display exactly what was changed for each mutant.")
         private String source;
 
+        @JsonIgnore
+        private SourceIndex sourceIndex;
+
         /**
          * Programming language that is used. Used for code highlighting, see <a href="https://prismjs.com/#examples">...</a>.
          * (Required)
@@ -678,6 +845,17 @@ public class MutationReport {
         @JsonProperty("source")
         public void setSource(String source) {
             this.source = source;
+            this.sourceIndex = null;
+        }
+
+        /**
+         * Index of the lines of the source, built on first use.
+         */
+        SourceIndex getSourceIndex() {
+            if (sourceIndex == null) {
+                sourceIndex = new SourceIndex(source);
+            }
+            return sourceIndex;
         }
     }
 
@@ -920,12 +1098,11 @@ public class MutationReport {
     public static class Mutant {
 
         /**
-         * The test ids that covered this mutant. If a mutation testing framework doesn't measure this information, it can simply be left out.
+         * The indices of the tests that covered this mutant in the test ids of the report. If a mutation testing framework doesn't measure this information, it can simply be left out.
          *
          */
-        @JsonProperty("coveredBy")
         @JsonPropertyDescription("The test ids that covered this mutant. If a mutation testing framework doesn't measure this information, it can simply be left out.")
-        private List<String> coveredBy;
+        private int[] coveredBy;
         /**
          * Description of the applied mutation.
          *
@@ -952,9 +1129,14 @@ public class MutationReport {
          * The test ids that killed this mutant. It is a best practice to "bail" on first failing test, in which case you can fill this array with that one test.
          *
          */
-        @JsonProperty("killedBy")
         @JsonPropertyDescription("The test ids that killed this mutant. It is a best practice to \"bail\" on first failing test, in which case you can fill this array with that one test.")
-        private List<String> killedBy;
+        private int[] killedBy;
+        /**
+         * The test ids of the report, which the indices in {@code coveredBy} and {@code killedBy} refer to.
+         *
+         */
+        @JsonIgnore
+        private IdDictionary testIds;
         /**
          * Location
          * <p>
@@ -1018,18 +1200,37 @@ public class MutationReport {
          */
         @JsonProperty("coveredBy")
         public List<String> getCoveredBy() {
-            return coveredBy;
+            return toTestIds(coveredBy);
         }
 
         /**
-         * The test ids that covered this mutant. If a mutation testing framework doesn't measure this information, it can simply be left out.
+         * The indices of the tests that covered this mutant, see {@link MutationReport#getTestIds()}.
          *
          */
         @JsonProperty("coveredBy")
-        public void setCoveredBy(List<String> coveredBy) {
+        @JsonDeserialize(using = TestIdsDeserializer.class)
+        void setCoveredByIndices(int[] coveredBy) {
             this.coveredBy = coveredBy;
         }
 
+        /**
+         * The test ids that covered this mutant. If a mutation testing framework doesn't measure this information, it can simply be left out.
+         *
+         */
+        @JsonIgnore
+        public void setCoveredBy(List<String> coveredBy) {
+            this.coveredBy = toIndices(coveredBy);
+        }
+
+        /**
+         * The indices of the tests that covered this mutant, see {@link MutationReport#getTestIds()}.
+         *
+         */
+        @JsonIgnore
+        public int[] getCoveredByIndices() {
+            return coveredBy;
+        }
+
         /**
          * Description of the applied mutation.
          *
@@ -1092,18 +1293,62 @@ public class MutationReport {
          */
         @JsonProperty("killedBy")
         public List<String> getKilledBy() {
-            return killedBy;
+            return toTestIds(killedBy);
         }
 
         /**
-         * The test ids that killed this mutant. It is a best practice to "bail" on first failing test, in which case you can fill this array with that one test.
+         * The indices of the tests that killed this mutant, see {@link MutationReport#getTestIds()}.
          *
          */
         @JsonProperty("killedBy")
-        public void setKilledBy(List<String> killedBy) {
+        @JsonDeserialize(using = TestIdsDeserializer.class)
+        void setKilledByIndices(int[] killedBy) {
             this.killedBy = killedBy;
         }
 
+        /**
+         * The test ids that killed this mutant. It is a best practice to "bail" on first failing test, in which case you can fill this array with that one test.
+         *
+         */
+        @JsonIgnore
+        public void setKilledBy(List<String> killedBy) {
+            this.killedBy = toIndices(killedBy);
+        }
+
+        /**
+         * The indices of the tests that killed this mutant, see {@link MutationReport#getTestIds()}.
+         *
+         */
+        @JsonIgnore
+        public int[] getKilledByIndices() {
+            return killedBy;
+        }
+
+        void setTestIds(IdDictionary testIds) {
+            this.testIds = testIds;
+        }
+
+        private int[] toIndices(List<String> ids) {
+            if (ids == null) {
+                return null;
+            }
+            if (testIds == null) {
+                testIds = new IdDictionary();
+            }
+            return ids.stream().mapToInt(testIds::add).toArray();
+        }
+
+        private List<String> toTestIds(int[] indices) {
+            if (indices == null) {
+                return null;
+            }
+            List<String> result = new ArrayList<>(indices.length);
+            for (int index : indices) {
+                result.add(testIds.getId(index));
+            }
+            return result;
+        }
+
         /**
          * Location
          * <p>
@@ -3,20 +3,52 @@ package callisto.model;
 import callisto.model.MutationReport.Mutant;
 
 import java.util.Arrays;
-import java.util.HashSet;
-import java.util.List;
+import java.util.Collection;
+import java.util.Formatter;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Semaphore;
+import java.util.function.Supplier;
 
 public class MutationReportHelper {
     private static final String[] ARITHMETIC_OPERATORS = { "+", "-", "*", "/", "%"};
     private static final String[] COMPARATOR_OPERATORS = { "<", "<=", ">", ">=", "=", "!"};
     private static final String[] LOGICAL_OPERATORS = { "&&", "||", "??" };
     private static final String[] UNARY_OPERATORS = { "+", "-" };
+    private static final String[][] ASSIGNMENT_OPERATORS = {
+            { "+", "-", "AssignmentExpression+=To-=" },
+            { "-", "+", "AssignmentExpression-=To+=" },
+            { "*", "/", "AssignmentExpression*=To/=" },
+            { "/", "*", "AssignmentExpression/=To*=" },
+            { "%", "*", "AssignmentExpression%=To*=" },
+            { "<<", ">>", "AssignmentExpression<<=To>>=" },
+            { ">>", "<<", "AssignmentExpression>>=To<<=" },
+            { "&", "\\|", "AssignmentExpression&=To\\|=" }
+    };
+    /**
+     * Operators recognized in the original code of a condition, in order of precedence.
+     */
+    private static final String[] CONDITION_OPERATORS = { "<=", ">=", ">", "<", "===", "!==", "==", "!=" };
+
+    private static final DeductionCache DEDUCTION_CACHE = new DeductionCache();
+
+    /**
+     * Files that may be deduced in the background at the same time, over all reports. Every file keeps its source
+     * until it is deduced, so more files than the common pool can deduce at once only take memory.
+     */
+    private static final Semaphore BACKGROUND_DEDUCTIONS = new Semaphore(ForkJoinPool.getCommonPoolParallelism() + 1);
+
+    // operator names are built once, so that deducing a name does not allocate
+    private static final String[][] ARITHMETIC_OPERATOR_NAMES = operatorNames("ArithmeticOperator%sTo%s", ARITHMETIC_OPERATORS, ARITHMETIC_OPERATORS);
+    private static final String[][] EQUALITY_OPERATOR_NAMES = operatorNames("EqualityOperator%sTo%s", COMPARATOR_OPERATORS, COMPARATOR_OPERATORS);
+    private static final String[][] LOGICAL_OPERATOR_NAMES = operatorNames("LogicalOperator%sTo%s", LOGICAL_OPERATORS, LOGICAL_OPERATORS);
+    private static final String[][] UNARY_OPERATOR_NAMES = operatorNames("UnaryOperator%sTo%s", UNARY_OPERATORS, UNARY_OPERATORS);
+    private static final String[][] CONDITIONAL_EXPRESSION_NAMES = operatorNames("ConditionalExpression%sTo%s", CONDITION_OPERATORS, new String[] { "true", "false" });
 
     public static String[] filterSurvivedMutationOperators(String[] mutationOperators, MutationReport report, MutationMatrices matrices, boolean killedOnly, boolean useStatic) {
-        int[] equivalentMutants = matrices.getEquivalentMutants();
         return Arrays.stream(mutationOperators)
                 .filter(mutationOperator -> {
-                    boolean filter = mutationOperatorHasKilledMutants(report.getMutantsByMutatorName(mutationOperator, killedOnly, useStatic), equivalentMutants);
+                    boolean filter = mutationOperatorHasKilledMutants(report.getMutantColumnsByMutatorName(mutationOperator, killedOnly, useStatic), matrices);
                     if (!filter) {
                         System.out.println("Mutation Operator " + mutationOperator + " has no killed mutants, and therefore has no coverage quality.");
                     }
@@ -25,54 +57,98 @@ public class MutationReportHelper {
                 .toArray(String[]::new);
     }
 
-    private static boolean mutationOperatorHasKilledMutants(Mutant[] mutants, int[] equivalentMutants) {
-        List<Integer> mutantsList = Arrays.stream(mutants).mapToInt(mutant -> Integer.parseInt(mutant.getId())).boxed().toList();
-        List<Integer> equivalentList = Arrays.stream(equivalentMutants).boxed().toList();
-        return !new HashSet<>(equivalentList).containsAll(mutantsList);
+    private static boolean mutationOperatorHasKilledMutants(int[] mutants, MutationMatrices matrices) {
+        for (int mutant : mutants) {
+            if (matrices.isKilled(mutant)) {
+                return true;
+            }
+        }
+        return false;
     }
     
     public static String deduceMutationOperatorName(Mutant mutant, String sourceCode) {
+        return deduceMutationOperatorName(mutant, new SourceIndex(sourceCode), new Formatter(System.out));
+    }
+
+    /**
+     * Deduces and sets the mutation operators of the mutants of one file.
+     *
+     * @return the diagnostics for unknown mutations, so that the caller can print them in a deterministic order
+     */
+    static String deduceMutationOperators(Collection<Mutant> mutants, SourceIndex sourceIndex) {
+        Formatter diagnostics = new Formatter(new StringBuilder());
+        for (Mutant mutant : mutants) {
+            mutant.setMutatorName(deduceMutationOperatorName(mutant, sourceIndex, diagnostics));
+        }
+        return diagnostics.toString();
+    }
+
+    /**
+     * Runs the deduction of the mutation operators of one file in the background if fewer than
+     * {@link #BACKGROUND_DEDUCTIONS} files are being deduced, and otherwise right away in the calling thread, which
+     * keeps the reader from reading further files until a deduction is done.
+     */
+    static CompletableFuture<String> deduceInBackground(Supplier<String> deduction) {
+        if (!BACKGROUND_DEDUCTIONS.tryAcquire()) {
+            return CompletableFuture.completedFuture(deduction.get());
+        }
+        try {
+            return CompletableFuture.supplyAsync(deduction).whenComplete((diagnostics, exception) -> BACKGROUND_DEDUCTIONS.release());
+        } catch (RuntimeException e) {
+            BACKGROUND_DEDUCTIONS.release();
+            throw e;
+        }
+    }
+
+    private static String deduceMutationOperatorName(Mutant mutant, SourceIndex sourceIndex, Formatter diagnostics) {
         String replacement = mutant.getReplacement();
-        String original = findCode(sourceCode, mutant.getLocation());
-        return deduceMutationOperatorName(mutant.getMutatorName(), original, replacement);
+        CharSequence original = sourceIndex.find(mutant.getLocation());
+        return DEDUCTION_CACHE.deduce(mutant.getMutatorName(), original, replacement, diagnostics, MutationReportHelper::deduceMutationOperatorName);
     }
 
-    private static String deduceMutationOperatorName(String mutator, String original, String replacement) {
+    /**
+     * @return the cache of deduced mutation operator names, which is shared by all reports
+     */
+    public static DeductionCache getDeductionCache() {
+        return DEDUCTION_CACHE;
+    }
+
+    private static String deduceMutationOperatorName(String mutator, CharSequence original, String replacement, Formatter diagnostics) {
         return switch (mutator) {
-            case "ArithmeticOperator" -> getArithmeticOperatorName(original, replacement);
-            case "ArrayDeclaration" -> getArrayDeclarationOperatorName(original, replacement);
-            case "AssignmentExpression" -> getAssignmentExpressionOperatorName(original, replacement);
-            case "BooleanLiteral" -> getBooleanLiteralOperatorName(original, replacement);
-            case "ConditionalExpression" -> getConditionalExpressionOperatorName(original, replacement);
-            case "EqualityOperator" -> getEqualityOperatorName(original, replacement);
-            case "LogicalOperator" -> getLogicalOperatorName(original, replacement);
-            case "StringLiteral" -> getStringLiteralOperatorName(original, replacement);
-            case "UnaryOperator" -> getUnaryOperatorName(original, replacement);
-            case "UpdateOperator" -> getUpdateOperatorName(original, replacement);
+            case "ArithmeticOperator" -> getArithmeticOperatorName(original, replacement, diagnostics);
+            case "ArrayDeclaration" -> getArrayDeclarationOperatorName(original, replacement, diagnostics);
+            case "AssignmentExpression" -> getAssignmentExpressionOperatorName(original, replacement, diagnostics);
+            case "BooleanLiteral" -> getBooleanLiteralOperatorName(original, replacement, diagnostics);
+            case "ConditionalExpression" -> getConditionalExpressionOperatorName(original, replacement, diagnostics);
+            case "EqualityOperator" -> getEqualityOperatorName(original, replacement, diagnostics);
+            case "LogicalOperator" -> getLogicalOperatorName(original, replacement, diagnostics);
+            case "StringLiteral" -> getStringLiteralOperatorName(original, replacement, diagnostics);
+            case "UnaryOperator" -> getUnaryOperatorName(original, replacement, diagnostics);
+            case "UpdateOperator" -> getUpdateOperatorName(original, replacement, diagnostics);
             // ArrowFunction, BlockStatement, ObjectLiteral only consist of one possible mutation, so no further distinction needed
             // OptionalChaining consists of three very similar mutations, so no further distinction is made
             // Regex is its own language with many mutation operators, thus is untouched for now for complexity reasons.
             case "ArrowFunction", "BlockStatement", "ObjectLiteral", "OptionalChaining", "Regex" -> mutator;
             default -> {
-                System.out.printf("Unknown mutator: %s - Unknown mutation: %s -> %s", mutator, original, replacement);
+                diagnostics.format("Unknown mutator: %s - Unknown mutation: %s -> %s", mutator, original, replacement);
                 yield mutator; //by default use mutator name
             }
         };
     }
     
-    private static String getArithmeticOperatorName(String original, String replacement) {
+    private static String getArithmeticOperatorName(CharSequence original, String replacement, Formatter diagnostics) {
         StringDifference difference = stringDifference(original, replacement);
-        boolean originalIsKnown = Arrays.stream(ARITHMETIC_OPERATORS).anyMatch(x -> x.equals(difference.original));
-        boolean replacementIsKnown = Arrays.stream(ARITHMETIC_OPERATORS).anyMatch(x -> x.equals(difference.replacement));
-        if (!(originalIsKnown && replacementIsKnown)) {
-            System.out.printf("Unknown arithmetic mutation operator: %s -> %s\n", original, replacement);
+        int originalOperator = difference.originalTokenIndex(ARITHMETIC_OPERATORS);
+        int replacementOperator = difference.replacementTokenIndex(ARITHMETIC_OPERATORS);
+        if (originalOperator == -1 || replacementOperator == -1) {
+            diagnostics.format("Unknown arithmetic mutation operator: %s -> %s\n", original, replacement);
             return "ArithmeticOperatorUnknown";
         } else {
-            return "ArithmeticOperator%sTo%s".formatted(difference.original, difference.replacement);
+            return ARITHMETIC_OPERATOR_NAMES[originalOperator][replacementOperator];
         }
     }
     
-    private static String getArrayDeclarationOperatorName(String original, String replacement) {
+    private static String getArrayDeclarationOperatorName(CharSequence original, String replacement, Formatter diagnostics) {
         switch (replacement) {
             case "[]", "Array()" -> {
                 return "ArrayDeclarationEmpty";
@@ -84,145 +160,103 @@ public class MutationReportHelper {
                 return "ArrayDeclarationFill";
             }
             default -> {
-                System.out.printf("ArrayDeclaration - Unknown mutation: %s -> %s\n", original, replacement);
+                diagnostics.format("ArrayDeclaration - Unknown mutation: %s -> %s\n", original, replacement);
                 return "ArrayDeclarationUnknown";
             }
         }
     } 
     
-    private static String getAssignmentExpressionOperatorName(String original, String replacement) {
+    private static String getAssignmentExpressionOperatorName(CharSequence original, String replacement, Formatter diagnostics) {
         StringDifference difference = stringDifference(original, replacement);
-        String originalDifference = difference.original;
-        String replacementDifference = difference.replacement;
-        if (originalDifference.equals("+") && replacementDifference.equals("-")) {
-            return "AssignmentExpression+=To-=";
-        }
-        else if (originalDifference.equals("-") && replacementDifference.equals("+")) {
-            return "AssignmentExpression-=To+=";
-        }
-        else if (originalDifference.equals("*") && replacementDifference.equals("/")) {
-            return "AssignmentExpression*=To/=";
-        }
-        else if (originalDifference.equals("/") && replacementDifference.equals("*")) {
-            return "AssignmentExpression/=To*=";
-        }
-        else if (originalDifference.equals("%") && replacementDifference.equals("*")) {
-            return "AssignmentExpression%=To*=";
-        }
-        else if (originalDifference.equals("<<") && replacementDifference.equals(">>")) {
-            return "AssignmentExpression<<=To>>=";
-        }
-        else if (originalDifference.equals(">>") && replacementDifference.equals("<<")) {
-            return "AssignmentExpression>>=To<<=";
-        }
-        else if (originalDifference.equals("&") && replacementDifference.equals("\\|")) {
-            return "AssignmentExpression&=To\\|=";
-        }
-        else {
-            System.out.printf("AssignmentExpression - Unknown mutation: %s -> %s\n", original, replacement);
-            return "AssignmentExpressionUnknown";
+        for (String[] operator : ASSIGNMENT_OPERATORS) {
+            if (difference.originalEquals(operator[0]) && difference.replacementEquals(operator[1])) {
+                return operator[2];
+            }
         }
+        diagnostics.format("AssignmentExpression - Unknown mutation: %s -> %s\n", original, replacement);
+        return "AssignmentExpressionUnknown";
     } 
     
-    private static String getBooleanLiteralOperatorName(String original, String replacement) {
+    private static String getBooleanLiteralOperatorName(CharSequence original, String replacement, Formatter diagnostics) {
         if (replacement.equals("true")) {
             return "BooleanLiteralfalseTotrue";
         }
         else if (replacement.equals("false")) {
             return "BooleanLiteraltrueTofalse";
         }
-        else if (original.contains("!")) {
+        else if (keptContains(original, "!")) {
             return "BooleanLiteralRemoveNegation";
         }
         else {
-            System.out.printf("BooleanLiteral - Unknown mutation: %s -> %s\n", original, replacement);
+            diagnostics.format("BooleanLiteral - Unknown mutation: %s -> %s\n", original, replacement);
             return "BooleanLiteralUnknown";
         }
     } 
     
-    private static String getConditionalExpressionOperatorName(String original, String replacement) {
+    private static String getConditionalExpressionOperatorName(CharSequence original, String replacement, Formatter diagnostics) {
         if (replacement.startsWith("case") || replacement.startsWith("default")) {
             return "ConditionalExpressionEmptyCase";
         }
         if (!replacement.equals("true") && !replacement.equals("false")) {
             StringDifference difference = stringDifference(original, replacement);
-            if (difference.replacement.contains("true")) {
+            if (difference.replacementContains("true")) {
                 return "ConditionalExpressionConditionTotrue";
             }
-            else if (difference.replacement.contains("false")) {
+            else if (difference.replacementContains("false")) {
                 return "ConditionalExpressionConditionTofalse";
             }
             else {
-                System.out.printf("ConditionalExpression - Unknown mutation: %s -> %s\n", original, replacement);
+                diagnostics.format("ConditionalExpression - Unknown mutation: %s -> %s\n", original, replacement);
                 return "ConditionalExpressionUnknown";
             }
         }
-        if (original.contains("<=")) {
-            return "ConditionalExpression<=To" + replacement;
-        }
-        else if (original.contains(">=")) {
-            return "ConditionalExpression>=To" + replacement;
-        }
-        else if (original.contains(">")) {
-            return "ConditionalExpression>To" + replacement;
-        }
-        else if (original.contains("<")) {
-            return "ConditionalExpression<To" + replacement;
-        }
-        else if (original.contains("===")) {
-            return "ConditionalExpression===To" + replacement;
-        }
-        else if (original.contains("!==")) {
-            return "ConditionalExpression!==To" + replacement;
-        }
-        else if (original.contains("==")) {
-            return "ConditionalExpression==To" + replacement;
-        }
-        else if (original.contains("!=")) {
-            return "ConditionalExpression!=To" + replacement;
-        }
-        else {
-            return "ConditionalExpressionConditionTo" + replacement;
+        int replacementIndex = replacement.equals("true") ? 0 : 1;
+        for (int i = 0; i < CONDITION_OPERATORS.length; i++) {
+            if (keptContains(original, CONDITION_OPERATORS[i])) {
+                return CONDITIONAL_EXPRESSION_NAMES[i][replacementIndex];
+            }
         }
+        return replacementIndex == 0 ? "ConditionalExpressionConditionTotrue" : "ConditionalExpressionConditionTofalse";
     }
     
-    private static String getEqualityOperatorName(String original, String replacement) {
+    private static String getEqualityOperatorName(CharSequence original, String replacement, Formatter diagnostics) {
         StringDifference difference = stringDifference(original, replacement);
-        boolean originalIsknown = Arrays.stream(COMPARATOR_OPERATORS).anyMatch(x -> x.equals(difference.original));
-        boolean replacementIsknown = Arrays.stream(COMPARATOR_OPERATORS).anyMatch(x -> x.equals(difference.replacement));
-        if (!(originalIsknown && replacementIsknown)) {
-            System.out.printf("EqualityOperator - Unknown mutation: %s -> %s\n", original, replacement);
+        int originalOperator = difference.originalTokenIndex(COMPARATOR_OPERATORS);
+        int replacementOperator = difference.replacementTokenIndex(COMPARATOR_OPERATORS);
+        if (originalOperator == -1 || replacementOperator == -1) {
+            diagnostics.format("EqualityOperator - Unknown mutation: %s -> %s\n", original, replacement);
             return "EqualityOperatorUnknown";
         }
-        if (difference.original.equals("!") && original.charAt(difference.index + 3) == '=') {
+        String originalDifference = COMPARATOR_OPERATORS[originalOperator];
+        if (originalDifference.equals("!") && keptCharAt(original, difference.index + 2) == '=') {
             return "EqualityOperator!==To===";
         }
-        else if (difference.original.equals("=") && original.charAt(difference.index + 3) == '=') {
+        else if (originalDifference.equals("=") && keptCharAt(original, difference.index + 2) == '=') {
             return "EqualityOperator===To!==";
         }
-        else if (difference.original.equals("!") && original.charAt(difference.index + 3) != '=') {
+        else if (originalDifference.equals("!") && keptCharAt(original, difference.index + 2) != '=') {
             return "EqualityOperator!=To==";
         }
-        else if (difference.original.equals("=") && original.charAt(difference.index + 3) != '=') {
+        else if (originalDifference.equals("=") && keptCharAt(original, difference.index + 2) != '=') {
             return "EqualityOperator==To!=";
         }
         else {
-            return "EqualityOperator%sTo%s".formatted(difference.original, difference.replacement);
+            return EQUALITY_OPERATOR_NAMES[originalOperator][replacementOperator];
         }
     } 
     
-    private static String getLogicalOperatorName(String original, String replacement) {
+    private static String getLogicalOperatorName(CharSequence original, String replacement, Formatter diagnostics) {
         StringDifference difference = stringDifference(original, replacement);
-        boolean originalIsKnown = Arrays.stream(LOGICAL_OPERATORS).anyMatch(x -> x.equals(difference.original));
-        boolean replacementIsKnown = Arrays.stream(LOGICAL_OPERATORS).anyMatch(x -> x.equals(difference.replacement));
-        if (!(originalIsKnown && replacementIsKnown)) {
-            System.out.printf("LogicalOperator - Unknown mutation: %s -> %s\n", original, replacement);
+        int originalOperator = difference.originalTokenIndex(LOGICAL_OPERATORS);
+        int replacementOperator = difference.replacementTokenIndex(LOGICAL_OPERATORS);
+        if (originalOperator == -1 || replacementOperator == -1) {
+            diagnostics.format("LogicalOperator - Unknown mutation: %s -> %s\n", original, replacement);
             return "LogicalOperatorUnknown";
         }
-        return "LogicalOperator%sTo%s".formatted(difference.original, difference.replacement);
+        return LOGICAL_OPERATOR_NAMES[originalOperator][replacementOperator];
     } 
     
-    private static String getStringLiteralOperatorName(String original, String replacement) {
+    private static String getStringLiteralOperatorName(CharSequence original, String replacement, Formatter diagnostics) {
         switch (replacement) {
             case "\"\"", "``" -> {
                 return "StringLiteralEmpty";
@@ -234,105 +268,231 @@ public class MutationReportHelper {
                 return "StringLiteralInterpolationEmpty";
             }
             default -> {
-                System.out.printf("StringLiteral - Unknown mutation: %s -> %s\n", original, replacement);
+                diagnostics.format("StringLiteral - Unknown mutation: %s -> %s\n", original, replacement);
                 return "StringLiteralUnknown";
             }
         }
     } 
     
-    private static String getUnaryOperatorName(String original, String replacement) {
+    private static String getUnaryOperatorName(CharSequence original, String replacement, Formatter diagnostics) {
         StringDifference difference = stringDifference(original, replacement);
-        if (difference.original.equals("~") && difference.replacement.isEmpty()) {
+        if (difference.originalEquals("~") && difference.replacementEquals("")) {
             return "UnaryOperatorRemove~";
         }
-        boolean originalIsKnown = Arrays.stream(UNARY_OPERATORS).anyMatch(x -> x.equals(difference.original));
-        boolean replacmentIsKnown = Arrays.stream(UNARY_OPERATORS).anyMatch(x -> x.equals(difference.replacement));
-        if (!(originalIsKnown && replacmentIsKnown)) {
-            System.out.printf("UnaryOperator - Unknown mutation: %s -> %s\n", original, replacement);
+        int originalOperator = difference.originalTokenIndex(UNARY_OPERATORS);
+        int replacementOperator = difference.replacementTokenIndex(UNARY_OPERATORS);
+        if (originalOperator == -1 || replacementOperator == -1) {
+            diagnostics.format("UnaryOperator - Unknown mutation: %s -> %s\n", original, replacement);
             return "UnaryOperatorUnknown";
         }
-        return "UnaryOperator%sTo%s".formatted(difference.original, difference.replacement);
+        return UNARY_OPERATOR_NAMES[originalOperator][replacementOperator];
     } 
     
-    private static String getUpdateOperatorName(String original, String replacement) {
-        if (original.startsWith("++")) {
+    private static String getUpdateOperatorName(CharSequence original, String replacement, Formatter diagnostics) {
+        if (keptStartsWith(original, "++")) {
             return "UpdateOperatorPre++To--";
         }
-        else if (original.startsWith("--")) {
+        else if (keptStartsWith(original, "--")) {
             return "UpdateOperatorPre--To++";
         }
-        else if (original.endsWith("--")) {
+        else if (keptEndsWith(original, "--")) {
             return "UpdateOperatorPost--To++";
         }
-        else if (original.endsWith("++")) {
+        else if (keptEndsWith(original, "++")) {
             return "UpdateOperatorPost++To--";
         }
         else {
-            System.out.printf("UpdateOperator - Unknown mutation: %s -> %s\n", original, replacement);
+            diagnostics.format("UpdateOperator - Unknown mutation: %s -> %s\n", original, replacement);
             return "UpdateOperatorUnknown";
         }
     } 
     
 
-    private static StringDifference stringDifference(String original, String replacement) {
-        original = original.replace("(", "");
-        original = original.replace(")", "");
-        replacement = replacement.replace("(", "");
-        replacement = replacement.replace(")", "");
-        //if encountering breaklines, then remove them, and remove any spaces from both the original and replacement, so that they don't show up as a difference
-        replacement = replacement.replace("\n", "");
-        original = original.replace("\n", "");
-        replacement = replacement.replace(" ", "");
-        original = original.replace(" ", "");
-        int indexFront = -1;
-        do {
+    /**
+     * Finds the part of the original and the replacement that differs, ignoring parentheses, line breaks and spaces.
+     * Both are scanned in place, skipping the ignored characters, so no strings are built.
+     */
+    private static StringDifference stringDifference(CharSequence original, CharSequence replacement) {
+        int originalLength = countKept(original, 0, original.length());
+        int replacementLength = countKept(replacement, 0, replacement.length());
+        // common prefix, the last character is kept if one of them is a prefix of the other
+        int indexFront = 0;
+        int o = nextKept(original, 0);
+        int r = nextKept(replacement, 0);
+        while (indexFront < originalLength && indexFront < replacementLength && original.charAt(o) == replacement.charAt(r)) {
             indexFront++;
-            if (indexFront == original.length() || indexFront == replacement.length()) {
-                indexFront--;
-                break;
-            }
-        } while (original.charAt(indexFront) == replacement.charAt(indexFront));
-        int indexBack = -1;
-        do {
+            o = nextKept(original, o + 1);
+            r = nextKept(replacement, r + 1);
+        }
+        if (indexFront == originalLength || indexFront == replacementLength) {
+            indexFront--;
+        }
+        // common suffix
+        int indexBack = 0;
+        o = previousKept(original, original.length() - 1);
+        r = previousKept(replacement, replacement.length() - 1);
+        while (indexBack < originalLength && indexBack < replacementLength && original.charAt(o) == replacement.charAt(r)) {
             indexBack++;
-            if (indexBack == original.length() || indexBack == replacement.length()) {
-                //indexBack--; //causes off-by-one error?
-                break;
-            }
-        } while (original.charAt(original.length() - 1 - indexBack) == replacement.charAt(replacement.length() - 1 - indexBack));
-        if ((original.length() - indexBack) - indexFront == 0 || (replacement.length() - indexBack) - indexFront == 0) {
+            o = previousKept(original, o - 1);
+            r = previousKept(replacement, r - 1);
+        }
+        if ((originalLength - indexBack) - indexFront == 0 || (replacementLength - indexBack) - indexFront == 0) {
             if (indexFront > 0) {
                 indexFront--;
             }
         }
-        String originalDifference = original.substring(indexFront, (original.length() - indexBack));
-        String replacementDifference = replacement.substring(indexFront, (replacement.length() - indexBack));
-        return new StringDifference(originalDifference, replacementDifference, indexFront);
+        if (indexFront < 0 || originalLength - indexBack < indexFront || replacementLength - indexBack < indexFront) {
+            throw new StringIndexOutOfBoundsException("No difference between %s and %s".formatted(original, replacement));
+        }
+        return new StringDifference(original, keptPosition(original, indexFront), keptPosition(original, originalLength - indexBack),
+                replacement, keptPosition(replacement, indexFront), keptPosition(replacement, replacementLength - indexBack),
+                indexFront);
     }
 
-    private static String findCode(String sourceCode, MutationReport.Location location) {
-        String breakline = sourceCode.contains("\r\n") ? "\r\n" : "\n";
-        String[] lines = sourceCode.split(breakline);
-        int startLine = location.getStart().getLine() - 1;
-        int startColumn = location.getStart().getColumn() - 1;
-        int endLine = location.getEnd().getLine() - 1;
-        int endColumn = location.getEnd().getColumn() - 1;
-        StringBuilder result = new StringBuilder();
-        if (startLine == endLine) {
-            result = new StringBuilder(lines[startLine].substring(startColumn, endColumn));
-        } else {
-            for (int line = startLine; line <= endLine; line++) {
-                if (line == startLine) {
-                    result.append(lines[line].substring(startColumn));
-                } else if (line == endLine) {
-                    result.append(lines[line], 0, endColumn);
-                } else {
-                    result.append(lines[line]);
-                }
+    /**
+     * Characters that are skipped when deducing a mutation operator, so that the deduced name only depends on the
+     * other characters of the code.
+     */
+    static boolean isIgnored(char c) {
+        return c == '(' || c == ')' || c == '\n' || c == ' ';
+    }
+
+    private static int countKept(CharSequence text, int start, int end) {
+        int count = 0;
+        for (int i = start; i < end; i++) {
+            if (!isIgnored(text.charAt(i))) {
+                count++;
             }
         }
-        return result.toString();
+        return count;
     }
 
-    private record StringDifference(String original, String replacement, int index) { }
+    private static int nextKept(CharSequence text, int from) {
+        while (from < text.length() && isIgnored(text.charAt(from))) {
+            from++;
+        }
+        return from;
+    }
+
+    private static int previousKept(CharSequence text, int from) {
+        while (from >= 0 && isIgnored(text.charAt(from))) {
+            from--;
+        }
+        return from;
+    }
+
+    /**
+     * @return position in the text of the kept character with the given index, or the length of the text if there is
+     * no such character
+     */
+    private static int keptPosition(CharSequence text, int index) {
+        int position = nextKept(text, 0);
+        for (int i = 0; i < index && position < text.length(); i++) {
+            position = nextKept(text, position + 1);
+        }
+        return position;
+    }
+
+    /**
+     * @return whether the kept characters of the range, starting at the given position, begin with the token
+     */
+    private static boolean keptRegionStartsWith(CharSequence text, int start, int end, String token) {
+        int position = nextKept(text, start);
+        for (int i = 0; i < token.length(); i++) {
+            if (position >= end || text.charAt(position) != token.charAt(i)) {
+                return false;
+            }
+            position = nextKept(text, position + 1);
+        }
+        return true;
+    }
+
+    private static boolean keptRegionEquals(CharSequence text, int start, int end, String token) {
+        return countKept(text, start, end) == token.length() && keptRegionStartsWith(text, start, end, token);
+    }
+
+    private static boolean keptRegionContains(CharSequence text, int start, int end, String token) {
+        for (int position = nextKept(text, start); position < end; position = nextKept(text, position + 1)) {
+            if (keptRegionStartsWith(text, position, end, token)) {
+                return true;
+            }
+        }
+        return token.isEmpty();
+    }
+
+    private static boolean keptContains(CharSequence text, String token) {
+        return keptRegionContains(text, 0, text.length(), token);
+    }
+
+    private static boolean keptStartsWith(CharSequence text, String token) {
+        return keptRegionStartsWith(text, 0, text.length(), token);
+    }
+
+    private static boolean keptEndsWith(CharSequence text, String token) {
+        int position = previousKept(text, text.length() - 1);
+        for (int i = token.length() - 1; i >= 0; i--) {
+            if (position < 0 || text.charAt(position) != token.charAt(i)) {
+                return false;
+            }
+            position = previousKept(text, position - 1);
+        }
+        return true;
+    }
+
+    /**
+     * @return the kept character with the given index, or {@code 0} if there is no such character
+     */
+    private static char keptCharAt(CharSequence text, int index) {
+        int position = keptPosition(text, index);
+        return position < text.length() ? text.charAt(position) : 0;
+    }
+
+    private static String[][] operatorNames(String format, String[] originals, String[] replacements) {
+        String[][] names = new String[originals.length][replacements.length];
+        for (int i = 0; i < originals.length; i++) {
+            for (int j = 0; j < replacements.length; j++) {
+                names[i][j] = format.formatted(originals[i], replacements[j]).intern();
+            }
+        }
+        return names;
+    }
+
+    /**
+     * The differing part of the original and the replacement, as ranges of the given texts that may contain ignored
+     * characters.
+     *
+     * @param index the position of the difference after removing the ignored characters
+     */
+    private record StringDifference(CharSequence original, int originalStart, int originalEnd,
+                                    CharSequence replacement, int replacementStart, int replacementEnd, int index) {
+        boolean originalEquals(String token) {
+            return keptRegionEquals(original, originalStart, originalEnd, token);
+        }
+
+        boolean replacementEquals(String token) {
+            return keptRegionEquals(replacement, replacementStart, replacementEnd, token);
+        }
+
+        boolean replacementContains(String token) {
+            return keptRegionContains(replacement, replacementStart, replacementEnd, token);
+        }
+
+        int originalTokenIndex(String[] tokens) {
+            for (int i = 0; i < tokens.length; i++) {
+                if (originalEquals(tokens[i])) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        int replacementTokenIndex(String[] tokens) {
+            for (int i = 0; i < tokens.length; i++) {
+                if (replacementEquals(tokens[i])) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+    }
 }
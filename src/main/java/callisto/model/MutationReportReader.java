@@ -0,0 +1,266 @@
+package callisto.model;
+
+import callisto.model.MutationReport.Location;
+import callisto.model.MutationReport.Mutant;
+import callisto.model.MutationReport.Position;
+import callisto.model.MutationReport.Test;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Reads a Stryker JSON report token by token. Only the fields Callisto uses are kept: every mutant is handed to the
+ * {@link MatrixBuilder} and the {@link MutantTableBuilder} as soon as it is read, and the mutation operators of a file are deduced in the background as
+ * soon as the file is read, while reading continues. When too many files are waiting for their deduction, the next
+ * file is deduced before reading continues, so that their sources do not pile up. Sources, descriptions, status reasons and all other report
+ * sections are skipped. Mutant and test ids are mapped to matrix indices by an {@link IdDictionary}.
+ */
+public class MutationReportReader {
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    public static MutationReport read(String filePath) {
+        return read(filePath, false);
+    }
+
+    /**
+     * @param mappedMatrices whether to build the matrices in memory-mapped files instead of on the heap, see
+     *                       {@link MappedMatrix}
+     */
+    public static MutationReport read(String filePath, boolean mappedMatrices) {
+        try (JsonParser parser = JSON_FACTORY.createParser(new File(filePath))) {
+            return read(parser, mappedMatrices);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    static MutationReport read(JsonParser parser) throws IOException {
+        return read(parser, false);
+    }
+
+    static MutationReport read(JsonParser parser, boolean mappedMatrices) throws IOException {
+        Ingestion ingestion = new Ingestion(new MatrixBuilder(), new MutantTableBuilder(), new IdDictionary(), new IdDictionary());
+        List<Test> tests = new ArrayList<>();
+        String diagnostics = "";
+        expect(parser.nextToken(), JsonToken.START_OBJECT, parser);
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.getCurrentName();
+            parser.nextToken();
+            switch (field) {
+                case "files" -> diagnostics = readFiles(parser, ingestion);
+                case "testFiles" -> readTestFiles(parser, ingestion, tests);
+                default -> parser.skipChildren();
+            }
+        }
+        int[] mutantColumns = ingestion.mutantIds().sortNumeric();
+        ingestion.builder().renumber(ingestion.testIds().sortNumeric(), mutantColumns);
+        MutationMatrices matrices = mappedMatrices
+                ? ingestion.builder().buildMapped(ingestion.testIds().size(), ingestion.mutantIds().size())
+                : ingestion.builder().build(ingestion.testIds().size(), ingestion.mutantIds().size());
+        MutantTable mutantTable = ingestion.mutants().build(mutantColumns, ingestion.mutantIds().size());
+        MutationReport report = new MutationReport();
+        report.initialize(mutantTable, tests.toArray(Test[]::new), ingestion.mutantIds(), ingestion.testIds(), matrices, diagnostics);
+        return report;
+    }
+
+    /**
+     * Cells, mutants and ids collected while reading. Tests may be referenced by mutants before they are defined, so
+     * both get their index on first occurrence.
+     */
+    private record Ingestion(MatrixBuilder builder, MutantTableBuilder mutants, IdDictionary mutantIds, IdDictionary testIds) { }
+
+    /**
+     * @return the diagnostics for unknown mutations, which are printed as well
+     */
+    private static String readFiles(JsonParser parser, Ingestion ingestion) throws IOException {
+        expect(parser.currentToken(), JsonToken.START_OBJECT, parser);
+        List<CompletableFuture<String>> deductions = new ArrayList<>();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            parser.nextToken();
+            deductions.add(readFile(parser, ingestion));
+        }
+        // diagnostics for unknown mutations in file order
+        StringBuilder diagnostics = new StringBuilder();
+        for (CompletableFuture<String> deduction : deductions) {
+            String fileDiagnostics = deduction.join();
+            System.out.print(fileDiagnostics);
+            diagnostics.append(fileDiagnostics);
+        }
+        return diagnostics.toString();
+    }
+
+    /**
+     * @return the deduction of the mutation operators of the file, which results in its diagnostics
+     */
+    private static CompletableFuture<String> readFile(JsonParser parser, Ingestion ingestion) throws IOException {
+        expect(parser.currentToken(), JsonToken.START_OBJECT, parser);
+        String source = null;
+        // the source may come after the mutants, so their operators can only be deduced once the whole file is read
+        List<Mutant> fileMutants = new ArrayList<>();
+        int[] fileMutantIndices = new int[16];
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.getCurrentName();
+            parser.nextToken();
+            switch (field) {
+                case "source" -> source = parser.getText();
+                case "mutants" -> {
+                    expect(parser.currentToken(), JsonToken.START_ARRAY, parser);
+                    while (parser.nextToken() != JsonToken.END_ARRAY) {
+                        Mutant mutant = new Mutant();
+                        if (fileMutants.size() == fileMutantIndices.length) {
+                            fileMutantIndices = Arrays.copyOf(fileMutantIndices, fileMutantIndices.length * 2);
+                        }
+                        fileMutantIndices[fileMutants.size()] = readMutant(parser, ingestion, mutant);
+                        fileMutants.add(mutant);
+                    }
+                }
+                default -> parser.skipChildren();
+            }
+        }
+        String fileSource = source;
+        int[] mutantIndices = fileMutantIndices;
+        return MutationReportHelper.deduceInBackground(() -> {
+            String diagnostics = fileSource != null ? MutationReportHelper.deduceMutationOperators(fileMutants, new SourceIndex(fileSource)) : "";
+            // the mutant objects of the file are dropped once their operators are in the table
+            for (int i = 0; i < fileMutants.size(); i++) {
+                ingestion.mutants().setOperator(mutantIndices[i], fileMutants.get(i).getMutatorName());
+            }
+            return diagnostics;
+        });
+    }
+
+    /**
+     * Reads the fields of the mutant that are needed to deduce its mutation operator into the mutant object, and hands
+     * the other fields to the builders.
+     *
+     * @return the index of the mutant
+     */
+    private static int readMutant(JsonParser parser, Ingestion ingestion, Mutant mutant) throws IOException {
+        expect(parser.currentToken(), JsonToken.START_OBJECT, parser);
+        String id = null;
+        Mutant.Status status = null;
+        boolean isStatic = false;
+        Double testsCompleted = null;
+        int[] killedBy = new int[0];
+        int[] coveredBy = new int[0];
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.getCurrentName();
+            JsonToken value = parser.nextToken();
+            switch (field) {
+                case "id" -> id = parser.getValueAsString();
+                case "mutatorName" -> mutant.setMutatorName(parser.getText());
+                case "replacement" -> mutant.setReplacement(parser.getText());
+                case "status" -> status = Mutant.Status.fromValue(parser.getText());
+                case "static" -> isStatic = parser.getValueAsBoolean();
+                case "testsCompleted" -> testsCompleted = value == JsonToken.VALUE_NULL ? null : parser.getValueAsDouble();
+                case "location" -> mutant.setLocation(readLocation(parser));
+                case "killedBy" -> killedBy = readIds(parser, ingestion.testIds());
+                case "coveredBy" -> coveredBy = readIds(parser, ingestion.testIds());
+                default -> parser.skipChildren();
+            }
+        }
+        int mutantIndex = ingestion.mutantIds().add(id);
+        ingestion.mutants().add(mutantIndex, status, isStatic, testsCompleted);
+        for (int test : killedBy) {
+            ingestion.builder().addKill(test, mutantIndex);
+        }
+        // static mutants have no coverage info, so use killed info instead
+        for (int test : isStatic ? killedBy : coveredBy) {
+            ingestion.builder().addCoverage(test, mutantIndex);
+        }
+        return mutantIndex;
+    }
+
+    static Location readLocation(JsonParser parser) throws IOException {
+        expect(parser.currentToken(), JsonToken.START_OBJECT, parser);
+        Location location = new Location();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.getCurrentName();
+            parser.nextToken();
+            switch (field) {
+                case "start" -> location.setStart(readPosition(parser));
+                case "end" -> location.setEnd(readPosition(parser));
+                default -> parser.skipChildren();
+            }
+        }
+        return location;
+    }
+
+    private static Position readPosition(JsonParser parser) throws IOException {
+        expect(parser.currentToken(), JsonToken.START_OBJECT, parser);
+        Position position = new Position();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.getCurrentName();
+            parser.nextToken();
+            switch (field) {
+                case "line" -> position.setLine(parser.getValueAsInt());
+                case "column" -> position.setColumn(parser.getValueAsInt());
+                default -> parser.skipChildren();
+            }
+        }
+        return position;
+    }
+
+    /**
+     * @return the indices of the test ids
+     */
+    private static int[] readIds(JsonParser parser, IdDictionary testIds) throws IOException {
+        if (parser.currentToken() == JsonToken.VALUE_NULL) {
+            return new int[0];
+        }
+        return TestIdsDeserializer.readIndices(parser, testIds);
+    }
+
+    private static void readTestFiles(JsonParser parser, Ingestion ingestion, List<Test> tests) throws IOException {
+        if (parser.currentToken() == JsonToken.VALUE_NULL) {
+            return;
+        }
+        expect(parser.currentToken(), JsonToken.START_OBJECT, parser);
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            parser.nextToken();
+            expect(parser.currentToken(), JsonToken.START_OBJECT, parser);
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.getCurrentName();
+                parser.nextToken();
+                if (field.equals("tests")) {
+                    expect(parser.currentToken(), JsonToken.START_ARRAY, parser);
+                    while (parser.nextToken() != JsonToken.END_ARRAY) {
+                        Test test = readTest(parser);
+                        ingestion.testIds().add(test.getId());
+                        tests.add(test);
+                    }
+                } else {
+                    parser.skipChildren();
+                }
+            }
+        }
+    }
+
+    private static Test readTest(JsonParser parser) throws IOException {
+        expect(parser.currentToken(), JsonToken.START_OBJECT, parser);
+        Test test = new Test();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.getCurrentName();
+            parser.nextToken();
+            switch (field) {
+                case "id" -> test.setId(parser.getValueAsString());
+                case "name" -> test.setName(parser.getText());
+                default -> parser.skipChildren();
+            }
+        }
+        return test;
+    }
+
+    private static void expect(JsonToken actual, JsonToken expected, JsonParser parser) throws IOException {
+        if (actual != expected) {
+            throw new IOException("Expected %s but found %s at %s".formatted(expected, actual, parser.getCurrentLocation()));
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package callisto.model;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Index of the mutants of a report by mutation operator, built in a single pass over the {@link MutantTable}. For
+ * every operator the columns of its mutants are kept per combination of the killed-only and static filters, together
+ * with the total number of test executions, so that looking up an operator does not scan all mutants.
+ */
+class OperatorIndex {
+    private static final int KILLED_ONLY = 1;
+    private static final int USE_STATIC = 2;
+
+    /**
+     * Operator names in alphabetical order, the position of a name is the id of the operator.
+     */
+    private final String[] operators;
+    private final Map<String, Integer> operatorIds;
+
+    /**
+     * Matrix columns of the mutants, per operator id and filter combination.
+     */
+    private final int[][][] columns;
+    private final int[] testExecutions;
+
+    OperatorIndex(MutantTable table) {
+        operators = table.getOperators();
+        operatorIds = new HashMap<>();
+        for (int i = 0; i < operators.length; i++) {
+            operatorIds.put(operators[i], i);
+        }
+        int[][] sizes = new int[operators.length][4];
+        long[] executions = new long[operators.length];
+        for (int column = 0; column < table.size(); column++) {
+            int operator = table.getOperatorId(column);
+            for (int filter = 0; filter < 4; filter++) {
+                if (matches(table, column, filter)) {
+                    sizes[operator][filter]++;
+                }
+            }
+            //static test executions included
+            if (table.getTestsCompleted(column) >= 0) {
+                executions[operator] += table.getTestsCompleted(column);
+            }
+        }
+        columns = new int[operators.length][4][];
+        testExecutions = new int[operators.length];
+        for (int operator = 0; operator < operators.length; operator++) {
+            for (int filter = 0; filter < 4; filter++) {
+                columns[operator][filter] = new int[sizes[operator][filter]];
+                sizes[operator][filter] = 0;
+            }
+            testExecutions[operator] = (int) executions[operator];
+        }
+        for (int column = 0; column < table.size(); column++) {
+            int operator = table.getOperatorId(column);
+            for (int filter = 0; filter < 4; filter++) {
+                if (matches(table, column, filter)) {
+                    columns[operator][filter][sizes[operator][filter]++] = column;
+                }
+            }
+        }
+    }
+
+    String[] getOperators() {
+        return operators.clone();
+    }
+
+    /**
+     * @return matrix columns of the mutants of the operator, in ascending order
+     */
+    int[] getColumns(String operator, boolean killedOnly, boolean useStatic) {
+        Integer id = operatorIds.get(operator);
+        if (id == null) {
+            return new int[0];
+        }
+        return columns[id][(killedOnly ? KILLED_ONLY : 0) | (useStatic ? USE_STATIC : 0)].clone();
+    }
+
+    int getTestExecutions(String operator) {
+        Integer id = operatorIds.get(operator);
+        return id == null ? 0 : testExecutions[id];
+    }
+
+    private static boolean matches(MutantTable table, int column, int filter) {
+        boolean killedOnly = (filter & KILLED_ONLY) != 0;
+        boolean useStatic = (filter & USE_STATIC) != 0;
+        return (!killedOnly || table.isKilled(column)) && (useStatic || !table.isStatic(column));
+    }
+}
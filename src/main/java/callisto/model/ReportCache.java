@@ -0,0 +1,328 @@
+package callisto.model;
+
+import callisto.model.MutationReport.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * Binary cache file of a report, holding what Callisto needs of it after ingestion: the sparse kill and coverage
+ * matrices, the ids of their columns and rows, the {@link MutantTable} with the deduced mutation operator, status,
+ * static flag and test executions of every mutant, the tests, and the diagnostics of the deduction.
+ * The cache files are kept in a cache directory of the user, see {@link #getDefaultDirectory()}, instead of next to the
+ * reports, which may be in a directory that should not be written to.
+ * The file is tied to the content hash of the report, to the file version and to the Callisto version from the build,
+ * so a changed report or a newer Callisto does not use an outdated cache. Reading maps the file into memory and copies
+ * the arrays out in bulk.
+ */
+public class ReportCache {
+    private static final int MAGIC = 0x434c5354;
+
+    /**
+     * Must be increased whenever the layout of the file or the deduction of mutation operators changes, as builds of
+     * the same Callisto version may differ in either.
+     */
+    private static final int FILE_VERSION = 4;
+
+    public static final String CALLISTO_VERSION = readCallistoVersion();
+
+    private static final String EXTENSION = ".callisto";
+
+    /**
+     * @return the project version, which the build writes to {@code callisto.properties}
+     */
+    private static String readCallistoVersion() {
+        Properties properties = new Properties();
+        try (InputStream input = ReportCache.class.getResourceAsStream("/callisto.properties")) {
+            if (input == null) {
+                throw new IllegalStateException("callisto.properties not found");
+            }
+            properties.load(input);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+        return properties.getProperty("version");
+    }
+
+    /**
+     * @return {@code callisto} in the cache directory of the user, which is {@code $XDG_CACHE_HOME} if set and
+     * {@code ~/.cache} otherwise
+     */
+    public static Path getDefaultDirectory() {
+        String cacheHome = System.getenv("XDG_CACHE_HOME");
+        Path base = cacheHome != null && !cacheHome.isEmpty() ? Paths.get(cacheHome) : Paths.get(System.getProperty("user.home"), ".cache");
+        return base.resolve("callisto");
+    }
+
+    /**
+     * @return the cache file of the report in the directory, named after the report and a hash of its absolute path,
+     * so that reports with the same name in different directories have their own cache
+     */
+    public static Path getCachePath(Path directory, String reportPath) {
+        Path report = Paths.get(reportPath).toAbsolutePath().normalize();
+        MessageDigest digest = newDigest();
+        byte[] pathHash = digest.digest(report.toString().getBytes(StandardCharsets.UTF_8));
+        return directory.resolve(report.getFileName() + "-" + HexFormat.of().formatHex(pathHash, 0, 8) + EXTENSION);
+    }
+
+    /**
+     * @return SHA-256 hash of the content of the report
+     */
+    public static byte[] hash(String reportPath) {
+        try (InputStream input = Files.newInputStream(Paths.get(reportPath))) {
+            MessageDigest digest = newDigest();
+            byte[] buffer = new byte[1 << 16];
+            int read;
+            while ((read = input.read(buffer)) != -1) {
+                digest.update(buffer, 0, read);
+            }
+            return digest.digest();
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * @return the cached report, or null if there is no cache for this content hash and Callisto version
+     */
+    public static MutationReport read(Path cachePath, byte[] hash) {
+        if (!Files.exists(cachePath)) {
+            return null;
+        }
+        try (FileChannel channel = FileChannel.open(cachePath, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.getInt() != MAGIC || buffer.getInt() != FILE_VERSION || !CALLISTO_VERSION.equals(readString(buffer))) {
+                return null;
+            }
+            byte[] cachedHash = new byte[buffer.getInt()];
+            buffer.get(cachedHash);
+            if (!Arrays.equals(cachedHash, hash)) {
+                return null;
+            }
+            String[] operators = new String[buffer.getInt()];
+            for (int i = 0; i < operators.length; i++) {
+                operators[i] = readString(buffer);
+            }
+            IdDictionary mutantIds = readIds(buffer);
+            IdDictionary testIds = readIds(buffer);
+            int[] operatorIds = readInts(buffer);
+            byte[] statuses = new byte[buffer.getInt()];
+            buffer.get(statuses);
+            BitSet staticMutants = BitSet.valueOf(readLongs(buffer));
+            int[] testsCompleted = readInts(buffer);
+            MutantTable mutantTable = new MutantTable(operators, operatorIds, statuses, staticMutants, testsCompleted);
+            Test[] tests = new Test[buffer.getInt()];
+            for (int i = 0; i < tests.length; i++) {
+                Test test = new Test();
+                test.setId(readString(buffer));
+                test.setName(readString(buffer));
+                tests[i] = test;
+            }
+            String deductionDiagnostics = readString(buffer);
+            SparseMatrix kills = readMatrix(buffer);
+            SparseMatrix coverage = readMatrix(buffer);
+            MutationReport report = new MutationReport();
+            report.initialize(mutantTable, tests, mutantIds, testIds, new MutationMatrices(kills, coverage), deductionDiagnostics);
+            return report;
+        } catch (IOException | RuntimeException e) {
+            // a damaged cache is treated as missing, the report is parsed again
+            return null;
+        }
+    }
+
+    /**
+     * Writes the cache to a temporary file first, so that a concurrent reader never sees a partial cache.
+     */
+    public static void write(Path cachePath, byte[] hash, MutationReport report) throws IOException {
+        MutantTable mutantTable = report.getMutantTable();
+        Test[] tests = report.getTests();
+        IdDictionary mutantIds = report.getMutantIds();
+        IdDictionary testIds = report.getTestIds();
+        String[] operators = mutantTable.getOperators();
+        long[] staticMutants = mutantTable.getStaticMutants().toLongArray();
+        Map<String, byte[]> encoded = new HashMap<>();
+        long size = 4 + 4 + encodedSize(CALLISTO_VERSION, encoded) + 4 + hash.length;
+        size += 4;
+        for (String operator : operators) {
+            size += encodedSize(operator, encoded);
+        }
+        size += idsSize(mutantIds, encoded) + idsSize(testIds, encoded);
+        size += 4 + 4L * mutantTable.size() + 4 + mutantTable.size() + 4 + 8L * staticMutants.length + 4 + 4L * mutantTable.size();
+        size += 4;
+        for (Test test : tests) {
+            size += encodedSize(test.getId(), encoded) + encodedSize(test.getName(), encoded);
+        }
+        size += encodedSize(report.getDeductionDiagnostics(), encoded);
+        SparseMatrix kills = toSparse(report.getMatrices().getKills());
+        SparseMatrix coverage = toSparse(report.getMatrices().getCoverage());
+        size += matrixSize(kills) + matrixSize(coverage);
+        if (size > Integer.MAX_VALUE) {
+            throw new IOException("Report too large to cache: " + size + " bytes");
+        }
+
+        Path directory = cachePath.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        Path temporary = Files.createTempFile(directory, cachePath.getFileName().toString(), ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+                buffer.putInt(MAGIC);
+                buffer.putInt(FILE_VERSION);
+                putString(buffer, CALLISTO_VERSION, encoded);
+                buffer.putInt(hash.length);
+                buffer.put(hash);
+                buffer.putInt(operators.length);
+                for (String operator : operators) {
+                    putString(buffer, operator, encoded);
+                }
+                putIds(buffer, mutantIds, encoded);
+                putIds(buffer, testIds, encoded);
+                putInts(buffer, mutantTable.getOperatorIds());
+                buffer.putInt(mutantTable.size());
+                buffer.put(mutantTable.getStatuses());
+                putLongs(buffer, staticMutants);
+                putInts(buffer, mutantTable.getTestsCompleted());
+                buffer.putInt(tests.length);
+                for (Test test : tests) {
+                    putString(buffer, test.getId(), encoded);
+                    putString(buffer, test.getName(), encoded);
+                }
+                putString(buffer, report.getDeductionDiagnostics(), encoded);
+                putMatrix(buffer, kills);
+                putMatrix(buffer, coverage);
+                buffer.force();
+            }
+            Files.move(temporary, cachePath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+    }
+
+    private static SparseMatrix toSparse(BinaryMatrix matrix) {
+        return matrix instanceof SparseMatrix sparse ? sparse : SparseMatrix.of(matrix);
+    }
+
+    private static long matrixSize(SparseMatrix matrix) {
+        return 4 + 4 + 4 * (matrix.getRowPointers().length + matrix.getRowIndices().length + matrix.getColumnPointers().length + matrix.getColumnIndices().length + 4L);
+    }
+
+    private static void putMatrix(ByteBuffer buffer, SparseMatrix matrix) {
+        buffer.putInt(matrix.getNumberOfRows());
+        buffer.putInt(matrix.getNumberOfColumns());
+        putInts(buffer, matrix.getRowPointers());
+        putInts(buffer, matrix.getRowIndices());
+        putInts(buffer, matrix.getColumnPointers());
+        putInts(buffer, matrix.getColumnIndices());
+    }
+
+    private static SparseMatrix readMatrix(ByteBuffer buffer) {
+        int numberOfRows = buffer.getInt();
+        int numberOfColumns = buffer.getInt();
+        return SparseMatrix.fromIndices(numberOfRows, numberOfColumns, readInts(buffer), readInts(buffer), readInts(buffer), readInts(buffer));
+    }
+
+    private static void putInts(ByteBuffer buffer, int[] values) {
+        buffer.putInt(values.length);
+        buffer.asIntBuffer().put(values);
+        buffer.position(buffer.position() + 4 * values.length);
+    }
+
+    private static int[] readInts(ByteBuffer buffer) {
+        int[] values = new int[buffer.getInt()];
+        buffer.asIntBuffer().get(values);
+        buffer.position(buffer.position() + 4 * values.length);
+        return values;
+    }
+
+    private static void putLongs(ByteBuffer buffer, long[] values) {
+        buffer.putInt(values.length);
+        buffer.asLongBuffer().put(values);
+        buffer.position(buffer.position() + 8 * values.length);
+    }
+
+    private static long[] readLongs(ByteBuffer buffer) {
+        long[] values = new long[buffer.getInt()];
+        buffer.asLongBuffer().get(values);
+        buffer.position(buffer.position() + 8 * values.length);
+        return values;
+    }
+
+    private static long idsSize(IdDictionary ids, Map<String, byte[]> encoded) {
+        long size = 4;
+        for (int i = 0; i < ids.size(); i++) {
+            size += encodedSize(ids.getId(i), encoded);
+        }
+        return size;
+    }
+
+    /**
+     * Writes the ids in order of their index, so that adding them in this order restores the dictionary.
+     */
+    private static void putIds(ByteBuffer buffer, IdDictionary ids, Map<String, byte[]> encoded) {
+        buffer.putInt(ids.size());
+        for (int i = 0; i < ids.size(); i++) {
+            putString(buffer, ids.getId(i), encoded);
+        }
+    }
+
+    private static IdDictionary readIds(ByteBuffer buffer) {
+        IdDictionary ids = new IdDictionary();
+        int size = buffer.getInt();
+        for (int i = 0; i < size; i++) {
+            ids.add(readString(buffer));
+        }
+        return ids;
+    }
+
+    private static long encodedSize(String value, Map<String, byte[]> encoded) {
+        return value == null ? 4 : 4 + encoded.computeIfAbsent(value, v -> v.getBytes(StandardCharsets.UTF_8)).length;
+    }
+
+    /**
+     * Writes the length of the string in bytes, or -1 for null, followed by its UTF-8 bytes.
+     */
+    private static void putString(ByteBuffer buffer, String value, Map<String, byte[]> encoded) {
+        if (value == null) {
+            buffer.putInt(-1);
+            return;
+        }
+        byte[] bytes = encoded.get(value);
+        buffer.putInt(bytes.length);
+        buffer.put(bytes);
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length == -1) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,322 @@
+package callisto.model;
+
+import callisto.model.MutationReport.Location;
+import callisto.model.MutationReport.Position;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Merges Stryker JSON reports of shards of a project into one report, token by token. Every report is read twice:
+ * first only its tests, so that identical tests of different shards can be unified by test file, name and location,
+ * then its files, which are written to the merged report right away with their mutants renumbered. Only the tests are
+ * kept in memory, never the mutants or sources.
+ * <p>
+ * Mutants and tests get the ids {@code 0} up to {@code n - 1} in the merged report, in order of the reports. The other
+ * sections of the report, such as the thresholds and the config, are taken from the first report.
+ */
+public class ReportMerger {
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    public record Summary(int mutants, int tests, int unifiedTests) { }
+
+    /**
+     * Test ids of one report, with the index of every test in the merged report, or -1 if it has none yet.
+     */
+    private static class Shard {
+        private final IdDictionary testIds = new IdDictionary();
+        private int[] mergedTests = new int[0];
+
+        /**
+         * Number of tests of the report so far with every test file, name and location.
+         */
+        private final Map<String, Integer> occurrences = new HashMap<>();
+    }
+
+    /**
+     * Key of every defined test, the index of a key is the index of the test in the merged report. The key holds the
+     * test file, name and location, and how many tests of the same report came before with these, so that tests are
+     * only unified with tests of other reports.
+     */
+    private final IdDictionary testKeys = new IdDictionary();
+    private final List<String> testNames = new ArrayList<>();
+    private final List<Location> testLocations = new ArrayList<>();
+    private final Map<String, List<Integer>> testsByFile = new LinkedHashMap<>();
+    private final Set<String> files = new HashSet<>();
+    private boolean hasTestFiles = false;
+    private int numberOfTests = 0;
+    private int numberOfMutants = 0;
+    private int unifiedTests = 0;
+
+    private ReportMerger() { }
+
+    public static Summary merge(String[] inputFiles, String outputFile) {
+        ReportMerger merger = new ReportMerger();
+        Shard[] shards = new Shard[inputFiles.length];
+        try {
+            for (int i = 0; i < inputFiles.length; i++) {
+                shards[i] = new Shard();
+                try (JsonParser parser = JSON_FACTORY.createParser(new File(inputFiles[i]))) {
+                    merger.readTests(parser, shards[i]);
+                }
+            }
+            // tests that are referenced by mutants but not defined get their index after the defined tests
+            merger.numberOfTests = merger.testKeys.size();
+            try (JsonGenerator generator = JSON_FACTORY.createGenerator(new File(outputFile), JsonEncoding.UTF8)) {
+                generator.writeStartObject();
+                try (JsonParser parser = JSON_FACTORY.createParser(new File(inputFiles[0]))) {
+                    copyOtherSections(parser, generator);
+                }
+                generator.writeObjectFieldStart("files");
+                for (int i = 0; i < inputFiles.length; i++) {
+                    try (JsonParser parser = JSON_FACTORY.createParser(new File(inputFiles[i]))) {
+                        merger.copyFiles(parser, generator, shards[i]);
+                    }
+                }
+                generator.writeEndObject();
+                if (merger.hasTestFiles) {
+                    merger.writeTestFiles(generator);
+                }
+                generator.writeEndObject();
+            }
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+        return new Summary(merger.numberOfMutants, merger.numberOfTests, merger.unifiedTests);
+    }
+
+    private void readTests(JsonParser parser, Shard shard) throws IOException {
+        expect(parser.nextToken(), JsonToken.START_OBJECT, parser);
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.getCurrentName();
+            if (parser.nextToken() == JsonToken.START_OBJECT && field.equals("testFiles")) {
+                hasTestFiles = true;
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    String testFile = parser.getCurrentName();
+                    parser.nextToken();
+                    readTestFile(parser, shard, testFile);
+                }
+            } else {
+                parser.skipChildren();
+            }
+        }
+    }
+
+    private void readTestFile(JsonParser parser, Shard shard, String testFile) throws IOException {
+        expect(parser.currentToken(), JsonToken.START_OBJECT, parser);
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.getCurrentName();
+            if (parser.nextToken() == JsonToken.START_ARRAY && field.equals("tests")) {
+                while (parser.nextToken() != JsonToken.END_ARRAY) {
+                    readTest(parser, shard, testFile);
+                }
+            } else {
+                parser.skipChildren();
+            }
+        }
+    }
+
+    private void readTest(JsonParser parser, Shard shard, String testFile) throws IOException {
+        expect(parser.currentToken(), JsonToken.START_OBJECT, parser);
+        String id = null;
+        String name = null;
+        Location location = null;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.getCurrentName();
+            parser.nextToken();
+            switch (field) {
+                case "id" -> id = parser.getValueAsString();
+                case "name" -> name = parser.getText();
+                case "location" -> location = MutationReportReader.readLocation(parser);
+                default -> parser.skipChildren();
+            }
+        }
+        String key = testFile + '\n' + name + '\n' + toKey(location);
+        int occurrence = shard.occurrences.merge(key, 1, Integer::sum);
+        int mergedTest = testKeys.add(key + '\n' + occurrence);
+        if (mergedTest == testNames.size()) {
+            testNames.add(name);
+            testLocations.add(location);
+            testsByFile.computeIfAbsent(testFile, f -> new ArrayList<>()).add(mergedTest);
+        } else {
+            unifiedTests++;
+        }
+        // a test without id cannot be referenced by mutants
+        if (id != null) {
+            setMergedTest(shard, shard.testIds.add(id), mergedTest);
+        }
+    }
+
+    /**
+     * Copies the sections of the report other than the files and the tests.
+     */
+    private static void copyOtherSections(JsonParser parser, JsonGenerator generator) throws IOException {
+        expect(parser.nextToken(), JsonToken.START_OBJECT, parser);
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.getCurrentName();
+            if (field.equals("files") || field.equals("testFiles")) {
+                parser.nextToken();
+                parser.skipChildren();
+            } else {
+                generator.copyCurrentStructure(parser);
+            }
+        }
+    }
+
+    private void copyFiles(JsonParser parser, JsonGenerator generator, Shard shard) throws IOException {
+        expect(parser.nextToken(), JsonToken.START_OBJECT, parser);
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.getCurrentName();
+            if (parser.nextToken() == JsonToken.START_OBJECT && field.equals("files")) {
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    String file = parser.getCurrentName();
+                    if (!files.add(file)) {
+                        throw new IOException("File %s is in more than one report".formatted(file));
+                    }
+                    generator.writeFieldName(file);
+                    parser.nextToken();
+                    copyFile(parser, generator, shard);
+                }
+            } else {
+                parser.skipChildren();
+            }
+        }
+    }
+
+    private void copyFile(JsonParser parser, JsonGenerator generator, Shard shard) throws IOException {
+        expect(parser.currentToken(), JsonToken.START_OBJECT, parser);
+        generator.writeStartObject();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            if (parser.getCurrentName().equals("mutants")) {
+                generator.writeArrayFieldStart("mutants");
+                expect(parser.nextToken(), JsonToken.START_ARRAY, parser);
+                while (parser.nextToken() != JsonToken.END_ARRAY) {
+                    copyMutant(parser, generator, shard);
+                }
+                generator.writeEndArray();
+            } else {
+                generator.copyCurrentStructure(parser);
+            }
+        }
+        generator.writeEndObject();
+    }
+
+    private void copyMutant(JsonParser parser, JsonGenerator generator, Shard shard) throws IOException {
+        expect(parser.currentToken(), JsonToken.START_OBJECT, parser);
+        generator.writeStartObject();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.getCurrentName();
+            switch (field) {
+                case "id" -> {
+                    parser.nextToken();
+                    generator.writeStringField("id", Integer.toString(numberOfMutants++));
+                }
+                case "killedBy", "coveredBy" -> {
+                    if (parser.nextToken() == JsonToken.VALUE_NULL) {
+                        generator.writeNullField(field);
+                    } else {
+                        int[] tests = TestIdsDeserializer.readIndices(parser, shard.testIds);
+                        int[] mergedTests = Arrays.stream(tests).map(test -> getMergedTest(shard, test)).distinct().toArray();
+                        generator.writeArrayFieldStart(field);
+                        for (int test : mergedTests) {
+                            generator.writeString(Integer.toString(test));
+                        }
+                        generator.writeEndArray();
+                    }
+                }
+                default -> generator.copyCurrentStructure(parser);
+            }
+        }
+        generator.writeEndObject();
+    }
+
+    private void writeTestFiles(JsonGenerator generator) throws IOException {
+        generator.writeObjectFieldStart("testFiles");
+        for (Map.Entry<String, List<Integer>> testFile : testsByFile.entrySet()) {
+            generator.writeObjectFieldStart(testFile.getKey());
+            generator.writeArrayFieldStart("tests");
+            for (int test : testFile.getValue()) {
+                generator.writeStartObject();
+                generator.writeStringField("id", Integer.toString(test));
+                generator.writeStringField("name", testNames.get(test));
+                if (testLocations.get(test) != null) {
+                    generator.writeFieldName("location");
+                    writeLocation(generator, testLocations.get(test));
+                }
+                generator.writeEndObject();
+            }
+            generator.writeEndArray();
+            generator.writeEndObject();
+        }
+        generator.writeEndObject();
+    }
+
+    private static void writeLocation(JsonGenerator generator, Location location) throws IOException {
+        generator.writeStartObject();
+        if (location.getStart() != null) {
+            generator.writeFieldName("start");
+            writePosition(generator, location.getStart());
+        }
+        if (location.getEnd() != null) {
+            generator.writeFieldName("end");
+            writePosition(generator, location.getEnd());
+        }
+        generator.writeEndObject();
+    }
+
+    private static void writePosition(JsonGenerator generator, Position position) throws IOException {
+        generator.writeStartObject();
+        generator.writeNumberField("line", position.getLine());
+        generator.writeNumberField("column", position.getColumn());
+        generator.writeEndObject();
+    }
+
+    private static String toKey(Location location) {
+        if (location == null) {
+            return "";
+        }
+        return toKey(location.getStart()) + "-" + toKey(location.getEnd());
+    }
+
+    private static String toKey(Position position) {
+        return position == null ? "" : position.getLine() + ":" + position.getColumn();
+    }
+
+    /**
+     * @return the index in the merged report of a test of the shard, which is assigned if the test has none yet
+     */
+    private int getMergedTest(Shard shard, int test) {
+        if (test >= shard.mergedTests.length || shard.mergedTests[test] == -1) {
+            setMergedTest(shard, test, numberOfTests++);
+        }
+        return shard.mergedTests[test];
+    }
+
+    private static void setMergedTest(Shard shard, int test, int mergedTest) {
+        if (test >= shard.mergedTests.length) {
+            int length = shard.mergedTests.length;
+            shard.mergedTests = Arrays.copyOf(shard.mergedTests, Math.max(test + 1, length * 2));
+            Arrays.fill(shard.mergedTests, length, shard.mergedTests.length, -1);
+        }
+        shard.mergedTests[test] = mergedTest;
+    }
+
+    private static void expect(JsonToken actual, JsonToken expected, JsonParser parser) throws IOException {
+        if (actual != expected) {
+            throw new IOException("Expected %s but found %s at %s".formatted(expected, actual, parser.getCurrentLocation()));
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package callisto.model;
+
+import callisto.model.MutationReport.FileResult;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.DeserializationConfig;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.deser.BeanDeserializerModifier;
+import com.fasterxml.jackson.databind.deser.std.DelegatingDeserializer;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Projection of the report schema to the fields Callisto uses. Applied to an {@link ObjectMapper}, the other fields
+ * are skipped token by token instead of being bound, which avoids building their objects and strings. Test file
+ * sources and status reasons often make up most of a report.
+ * <p>
+ * The mutation operators of every file are deduced as soon as the file is read, after which its source is dropped, so
+ * only the sources of the files that are still being deduced are in memory. The deductions run in the background, as
+ * far as {@link MutationReportHelper#deduceInBackground} allows, and are added to the list in the {@link #DEDUCTIONS} attribute of the deserialization, see
+ * {@link callisto.Callisto#parseReport(String, boolean)}. Without this attribute every file is deduced right away.
+ */
+public class ReportProjection {
+    public static final String DEDUCTIONS = "callisto.deductions";
+
+    @JsonIgnoreProperties({ "config", "thresholds", "projectRoot", "performance", "framework", "system" })
+    private abstract static class MutationReportProjection { }
+
+    @JsonIgnoreProperties({ "language" })
+    private abstract static class FileResultProjection { }
+
+    @JsonIgnoreProperties({ "description", "duration", "statusReason" })
+    private abstract static class MutantProjection { }
+
+    @JsonIgnoreProperties({ "source" })
+    private abstract static class TestFileProjection { }
+
+    @JsonIgnoreProperties({ "location" })
+    private abstract static class TestProjection { }
+
+    private static class DeducingModifier extends BeanDeserializerModifier {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        public JsonDeserializer<?> modifyDeserializer(DeserializationConfig config, BeanDescription beanDescription, JsonDeserializer<?> deserializer) {
+            return beanDescription.getBeanClass() == FileResult.class ? new DeducingFileResultDeserializer(deserializer) : deserializer;
+        }
+    }
+
+    private static class DeducingFileResultDeserializer extends DelegatingDeserializer {
+        private static final long serialVersionUID = 1L;
+
+        DeducingFileResultDeserializer(JsonDeserializer<?> delegate) {
+            super(delegate);
+        }
+
+        @Override
+        protected JsonDeserializer<?> newDelegatingInstance(JsonDeserializer<?> newDelegatee) {
+            return new DeducingFileResultDeserializer(newDelegatee);
+        }
+
+        @Override
+        public Object deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+            FileResult file = (FileResult) super.deserialize(parser, context);
+            String source = file.getSource();
+            file.setSource(null);
+            CompletableFuture<String> deduction = MutationReportHelper.deduceInBackground(() -> source != null ? MutationReportHelper.deduceMutationOperators(file.getMutants(), new SourceIndex(source)) : "");
+            @SuppressWarnings("unchecked")
+            List<CompletableFuture<String>> deductions = (List<CompletableFuture<String>>) context.getAttribute(DEDUCTIONS);
+            if (deductions != null) {
+                deductions.add(deduction);
+            } else {
+                System.out.print(deduction.join());
+            }
+            return file;
+        }
+    }
+
+    public static ObjectMapper apply(ObjectMapper objectMapper) {
+        SimpleModule module = new SimpleModule("ReportProjection");
+        module.setDeserializerModifier(new DeducingModifier());
+        return objectMapper
+                .addMixIn(MutationReport.class, MutationReportProjection.class)
+                .addMixIn(MutationReport.FileResult.class, FileResultProjection.class)
+                .addMixIn(MutationReport.Mutant.class, MutantProjection.class)
+                .addMixIn(MutationReport.TestFile.class, TestFileProjection.class)
+                .addMixIn(MutationReport.Test.class, TestProjection.class)
+                .registerModule(module);
+    }
+}
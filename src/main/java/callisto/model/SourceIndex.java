@@ -0,0 +1,119 @@
+package callisto.model;
+
+import java.util.Arrays;
+
+/**
+ * Offsets of the lines of a source file, so that the code at a mutant location can be found without splitting the
+ * source for every mutant.
+ */
+class SourceIndex {
+    private final String source;
+
+    /**
+     * Offset of the first character of every line.
+     */
+    private final int[] lineStarts;
+
+    /**
+     * Offset just past the last character of every line, excluding the line break.
+     */
+    private final int[] lineEnds;
+
+    SourceIndex(String source) {
+        this.source = source;
+        String breakline = source.contains("\r\n") ? "\r\n" : "\n";
+        int[] starts = new int[16];
+        int[] ends = new int[16];
+        int lines = 0;
+        int start = 0;
+        while (true) {
+            if (lines == starts.length) {
+                starts = Arrays.copyOf(starts, lines * 2);
+                ends = Arrays.copyOf(ends, lines * 2);
+            }
+            int end = source.indexOf(breakline, start);
+            starts[lines] = start;
+            ends[lines] = end == -1 ? source.length() : end;
+            lines++;
+            if (end == -1) {
+                break;
+            }
+            start = end + breakline.length();
+        }
+        lineStarts = Arrays.copyOf(starts, lines);
+        lineEnds = Arrays.copyOf(ends, lines);
+    }
+
+    /**
+     * @return view of the code at the location, with the line breaks of multi-line locations left out
+     */
+    CharSequence find(MutationReport.Location location) {
+        int startLine = location.getStart().getLine() - 1;
+        int startColumn = location.getStart().getColumn() - 1;
+        int endLine = location.getEnd().getLine() - 1;
+        int endColumn = location.getEnd().getColumn() - 1;
+        int segments = endLine - startLine + 1;
+        int[] starts = new int[segments];
+        int[] ends = new int[segments];
+        for (int line = startLine; line <= endLine; line++) {
+            starts[line - startLine] = line == startLine ? lineStarts[line] + startColumn : lineStarts[line];
+            ends[line - startLine] = line == endLine ? lineStarts[line] + endColumn : lineEnds[line];
+        }
+        return new Span(source, starts, ends);
+    }
+
+    /**
+     * Characters of the source in one or more ranges, read as one sequence.
+     */
+    private static class Span implements CharSequence {
+        private final String source;
+        private final int[] starts;
+        private final int[] ends;
+        private final int length;
+
+        Span(String source, int[] starts, int[] ends) {
+            this.source = source;
+            this.starts = starts;
+            this.ends = ends;
+            int length = 0;
+            for (int i = 0; i < starts.length; i++) {
+                length += ends[i] - starts[i];
+            }
+            this.length = length;
+        }
+
+        @Override
+        public int length() {
+            return length;
+        }
+
+        @Override
+        public char charAt(int index) {
+            if (index < 0 || index >= length) {
+                throw new IndexOutOfBoundsException(index);
+            }
+            for (int i = 0; i < starts.length; i++) {
+                int segmentLength = ends[i] - starts[i];
+                if (index < segmentLength) {
+                    return source.charAt(starts[i] + index);
+                }
+                index -= segmentLength;
+            }
+            throw new IndexOutOfBoundsException(index);
+        }
+
+        @Override
+        public CharSequence subSequence(int start, int end) {
+            return toString().substring(start, end);
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder result = new StringBuilder(length);
+            for (int i = 0; i < starts.length; i++) {
+                result.append(source, starts[i], ends[i]);
+            }
+            return result.toString();
+        }
+    }
+}
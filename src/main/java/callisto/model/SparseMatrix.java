@@ -0,0 +1,268 @@
+package callisto.model;
+
+import java.util.Arrays;
+
+/**
+ * {@link BinaryMatrix} that only stores its set cells, both row-major (test to mutants) and column-major (mutant to
+ * tests). Row and column queries are slices of these index arrays, so their cost is proportional to the number of set
+ * cells in that row or column.
+ */
+public class SparseMatrix implements BinaryMatrix {
+    private final int numberOfRows;
+
+    private final int numberOfColumns;
+
+    /**
+     * The columns of row {@code r} are {@code rowIndices[rowPointers[r]]} up to {@code rowIndices[rowPointers[r + 1]]}.
+     */
+    private final int[] rowPointers;
+
+    private final int[] rowIndices;
+
+    /**
+     * The rows of column {@code c} are {@code columnIndices[columnPointers[c]]} up to
+     * {@code columnIndices[columnPointers[c + 1]]}.
+     */
+    private final int[] columnPointers;
+
+    private final int[] columnIndices;
+
+    private SparseMatrix(int numberOfRows, int numberOfColumns, int[] rowPointers, int[] rowIndices, int[] columnPointers, int[] columnIndices) {
+        this.numberOfRows = numberOfRows;
+        this.numberOfColumns = numberOfColumns;
+        this.rowPointers = rowPointers;
+        this.rowIndices = rowIndices;
+        this.columnPointers = columnPointers;
+        this.columnIndices = columnIndices;
+    }
+
+    /**
+     * Builds a matrix from a list of set cells.
+     *
+     * @param cells pairs of row and column, duplicate cells are allowed
+     * @param size  number of used entries in {@code cells}, which is twice the number of cells
+     */
+    public static SparseMatrix fromCells(int[] cells, int size, int numberOfRows, int numberOfColumns) {
+        int[] rowPointers = new int[numberOfRows + 1];
+        for (int i = 0; i < size; i += 2) {
+            rowPointers[cells[i] + 1]++;
+        }
+        for (int r = 0; r < numberOfRows; r++) {
+            rowPointers[r + 1] += rowPointers[r];
+        }
+        int[] next = Arrays.copyOf(rowPointers, numberOfRows);
+        int[] rowIndices = new int[size / 2];
+        for (int i = 0; i < size; i += 2) {
+            rowIndices[next[cells[i]]++] = cells[i + 1];
+        }
+        // sort every row and drop duplicate cells
+        int nonZeros = 0;
+        int start = 0;
+        for (int r = 0; r < numberOfRows; r++) {
+            int end = rowPointers[r + 1];
+            Arrays.sort(rowIndices, start, end);
+            rowPointers[r] = nonZeros;
+            for (int i = start; i < end; i++) {
+                if (i == start || rowIndices[i] != rowIndices[i - 1]) {
+                    rowIndices[nonZeros++] = rowIndices[i];
+                }
+            }
+            start = end;
+        }
+        rowPointers[numberOfRows] = nonZeros;
+        return fromRows(numberOfRows, numberOfColumns, rowPointers, Arrays.copyOf(rowIndices, nonZeros));
+    }
+
+    /**
+     * Creates a matrix from index arrays that were taken from another sparse matrix, such as those in a report cache.
+     */
+    static SparseMatrix fromIndices(int numberOfRows, int numberOfColumns, int[] rowPointers, int[] rowIndices, int[] columnPointers, int[] columnIndices) {
+        return new SparseMatrix(numberOfRows, numberOfColumns, rowPointers, rowIndices, columnPointers, columnIndices);
+    }
+
+    public static SparseMatrix of(boolean[][] matrix) {
+        int numberOfColumns = matrix.length == 0 ? 0 : matrix[0].length;
+        int[] cells = new int[16];
+        int size = 0;
+        for (int r = 0; r < matrix.length; r++) {
+            for (int c = 0; c < numberOfColumns; c++) {
+                if (matrix[r][c]) {
+                    if (size == cells.length) {
+                        cells = Arrays.copyOf(cells, size * 2);
+                    }
+                    cells[size++] = r;
+                    cells[size++] = c;
+                }
+            }
+        }
+        return fromCells(cells, size, matrix.length, numberOfColumns);
+    }
+
+    /**
+     * Copies another matrix one row at a time, without converting it to an array first.
+     */
+    public static SparseMatrix of(BinaryMatrix matrix) {
+        int numberOfRows = matrix.getNumberOfRows();
+        int[] rowPointers = new int[numberOfRows + 1];
+        for (int r = 0; r < numberOfRows; r++) {
+            rowPointers[r + 1] = rowPointers[r] + matrix.countRow(r);
+        }
+        int[] rowIndices = new int[rowPointers[numberOfRows]];
+        for (int r = 0; r < numberOfRows; r++) {
+            int[] row = matrix.getRow(r);
+            System.arraycopy(row, 0, rowIndices, rowPointers[r], row.length);
+        }
+        return fromRows(numberOfRows, matrix.getNumberOfColumns(), rowPointers, rowIndices);
+    }
+
+    /**
+     * Derives the column-major index from a row-major index with sorted rows.
+     */
+    private static SparseMatrix fromRows(int numberOfRows, int numberOfColumns, int[] rowPointers, int[] rowIndices) {
+        int[] columnPointers = new int[numberOfColumns + 1];
+        for (int column : rowIndices) {
+            columnPointers[column + 1]++;
+        }
+        for (int c = 0; c < numberOfColumns; c++) {
+            columnPointers[c + 1] += columnPointers[c];
+        }
+        int[] next = Arrays.copyOf(columnPointers, numberOfColumns);
+        int[] columnIndices = new int[rowIndices.length];
+        for (int r = 0; r < numberOfRows; r++) {
+            for (int i = rowPointers[r]; i < rowPointers[r + 1]; i++) {
+                columnIndices[next[rowIndices[i]]++] = r;
+            }
+        }
+        return new SparseMatrix(numberOfRows, numberOfColumns, rowPointers, rowIndices, columnPointers, columnIndices);
+    }
+
+    public int getNumberOfNonZeros() {
+        return rowIndices.length;
+    }
+
+    int[] getRowPointers() {
+        return rowPointers;
+    }
+
+    int[] getRowIndices() {
+        return rowIndices;
+    }
+
+    int[] getColumnPointers() {
+        return columnPointers;
+    }
+
+    int[] getColumnIndices() {
+        return columnIndices;
+    }
+
+    @Override
+    public int getNumberOfRows() {
+        return numberOfRows;
+    }
+
+    @Override
+    public int getNumberOfColumns() {
+        return numberOfColumns;
+    }
+
+    @Override
+    public boolean get(int row, int column) {
+        return Arrays.binarySearch(rowIndices, rowPointers[row], rowPointers[row + 1], column) >= 0;
+    }
+
+    @Override
+    public int[] getRow(int row) {
+        return Arrays.copyOfRange(rowIndices, rowPointers[row], rowPointers[row + 1]);
+    }
+
+    @Override
+    public int[] getColumn(int column) {
+        return Arrays.copyOfRange(columnIndices, columnPointers[column], columnPointers[column + 1]);
+    }
+
+    @Override
+    public int countRow(int row) {
+        return rowPointers[row + 1] - rowPointers[row];
+    }
+
+    @Override
+    public int countColumn(int column) {
+        return columnPointers[column + 1] - columnPointers[column];
+    }
+
+    @Override
+    public boolean rowsEqual(int row1, int row2) {
+        return Arrays.equals(rowIndices, rowPointers[row1], rowPointers[row1 + 1], rowIndices, rowPointers[row2], rowPointers[row2 + 1]);
+    }
+
+    @Override
+    public int rowHash(int row) {
+        int hash = 1;
+        for (int i = rowPointers[row]; i < rowPointers[row + 1]; i++) {
+            hash = 31 * hash + rowIndices[i];
+        }
+        return hash;
+    }
+
+    @Override
+    public SparseMatrix removeRows(int[] rowsToRemove) {
+        if (rowsToRemove.length == 0) {
+            return this;
+        }
+        boolean[] removed = new boolean[numberOfRows];
+        for (int row : rowsToRemove) {
+            removed[row] = true;
+        }
+        int newNumberOfRows = numberOfRows - rowsToRemove.length;
+        int[] newRowPointers = new int[newNumberOfRows + 1];
+        int[] newRowIndices = new int[rowIndices.length];
+        int r = 0;
+        int nonZeros = 0;
+        for (int i = 0; i < numberOfRows; i++) {
+            if (removed[i]) {
+                continue;
+            }
+            int length = countRow(i);
+            System.arraycopy(rowIndices, rowPointers[i], newRowIndices, nonZeros, length);
+            nonZeros += length;
+            newRowPointers[++r] = nonZeros;
+        }
+        return fromRows(newNumberOfRows, numberOfColumns, newRowPointers, Arrays.copyOf(newRowIndices, nonZeros));
+    }
+
+    @Override
+    public SparseMatrix extractColumns(int[] columnsToKeep) {
+        int[] newColumnIndex = new int[numberOfColumns];
+        Arrays.fill(newColumnIndex, -1);
+        int[] columns = columnsToKeep.clone();
+        Arrays.sort(columns);
+        for (int c = 0; c < columns.length; c++) {
+            newColumnIndex[columns[c]] = c;
+        }
+        int[] newRowPointers = new int[numberOfRows + 1];
+        int[] newRowIndices = new int[rowIndices.length];
+        int nonZeros = 0;
+        for (int r = 0; r < numberOfRows; r++) {
+            for (int i = rowPointers[r]; i < rowPointers[r + 1]; i++) {
+                int column = newColumnIndex[rowIndices[i]];
+                if (column >= 0) {
+                    newRowIndices[nonZeros++] = column;
+                }
+            }
+            newRowPointers[r + 1] = nonZeros;
+        }
+        return fromRows(numberOfRows, columns.length, newRowPointers, Arrays.copyOf(newRowIndices, nonZeros));
+    }
+
+    @Override
+    public boolean[][] toArray() {
+        boolean[][] result = new boolean[numberOfRows][numberOfColumns];
+        for (int r = 0; r < numberOfRows; r++) {
+            for (int i = rowPointers[r]; i < rowPointers[r + 1]; i++) {
+                result[r][rowIndices[i]] = true;
+            }
+        }
+        return result;
+    }
+}
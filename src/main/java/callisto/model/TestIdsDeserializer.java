@@ -0,0 +1,60 @@
+package callisto.model;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * Reads the {@code coveredBy} and {@code killedBy} test ids of a mutant straight into the indices of the tests in the
+ * {@link IdDictionary} of the report, without creating a {@code String} for every reference. The dictionary is taken
+ * from the {@link #TEST_IDS} attribute of the deserialization, see {@link callisto.Callisto#parseReport(String)}. A
+ * report that is read without this attribute gets a dictionary of its own, which its mutants keep.
+ */
+public class TestIdsDeserializer extends StdDeserializer<int[]> {
+    private static final long serialVersionUID = 1L;
+
+    public static final String TEST_IDS = "callisto.testIds";
+
+    public TestIdsDeserializer() {
+        super(int[].class);
+    }
+
+    @Override
+    public int[] deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+        IdDictionary testIds = (IdDictionary) context.getAttribute(TEST_IDS);
+        if (testIds == null) {
+            testIds = new IdDictionary();
+            context.setAttribute(TEST_IDS, testIds);
+        }
+        // the parser is in the array, the mutant being read is the value of the enclosing object
+        if (parser.getParsingContext().getParent().getCurrentValue() instanceof MutationReport.Mutant mutant) {
+            mutant.setTestIds(testIds);
+        }
+        return readIndices(parser, testIds);
+    }
+
+    /**
+     * Reads an array of test ids at the current token of the parser.
+     *
+     * @return the indices of the test ids, which are added to the dictionary if they are new
+     */
+    static int[] readIndices(JsonParser parser, IdDictionary testIds) throws IOException {
+        if (parser.currentToken() != JsonToken.START_ARRAY) {
+            throw JsonMappingException.from(parser, "Expected an array of test ids but found " + parser.currentToken());
+        }
+        int[] indices = new int[8];
+        int size = 0;
+        while (parser.nextToken() != JsonToken.END_ARRAY) {
+            if (size == indices.length) {
+                indices = Arrays.copyOf(indices, size * 2);
+            }
+            indices[size++] = testIds.add(parser.getTextCharacters(), parser.getTextOffset(), parser.getTextLength());
+        }
+        return Arrays.copyOf(indices, size);
+    }
+}
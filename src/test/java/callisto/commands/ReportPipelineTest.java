@@ -0,0 +1,67 @@
+package callisto.commands;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ReportPipelineTest {
+    private static String getResourcePath(String name) throws URISyntaxException {
+        URL url = ReportPipelineTest.class.getClassLoader().getResource(name);
+        return new File(url.toURI()).getPath();
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    @Test
+    public void TestResultsInInputOrder() throws URISyntaxException {
+        //arrange
+        String slowReport = getResourcePath("testreport.json");
+        String fastReport = getResourcePath("report-MutationsTest.json");
+        String[] inputFiles = { slowReport, fastReport, slowReport, fastReport };
+        ReportPipeline pipeline = new ReportPipeline(4, Runtime.getRuntime().maxMemory() / 2, null, false);
+
+        //act
+        List<String> results = pipeline.run(inputFiles, (inputFile, report) -> {
+            // the first reports finish last
+            sleep(inputFile.equals(slowReport) ? 200 : 0);
+            return inputFile;
+        });
+
+        //assert
+        assertEquals(List.of(inputFiles), results);
+    }
+
+    @Test
+    public void TestAdmissionBlocksWhenBudgetIsFull() throws URISyntaxException {
+        //arrange
+        String[] inputFiles = { getResourcePath("testreport.json"), getResourcePath("report-MutationsTest.json"), getResourcePath("testreport.json") };
+        // every report needs the whole budget of 1 KiB, so only one can be in progress at a time
+        ReportPipeline pipeline = new ReportPipeline(3, 1024, null, false);
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+
+        //act
+        List<Integer> results = pipeline.run(inputFiles, (inputFile, report) -> {
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            sleep(50);
+            running.decrementAndGet();
+            return report.getMatrices().getNumberOfMutants();
+        });
+
+        //assert
+        assertEquals(3, results.size());
+        assertEquals(1, maxRunning.get());
+    }
+}
@@ -0,0 +1,43 @@
+package callisto.commands;
+
+import callisto.logic.SolverSettings;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RunCommandTest {
+    private static String getResourcePath(String name) throws URISyntaxException {
+        URL url = RunCommandTest.class.getClassLoader().getResource(name);
+        return new File(url.toURI()).getPath();
+    }
+
+    @Test
+    public void TestParallelOperatorsMatchSequential(@TempDir Path directory) throws IOException, URISyntaxException {
+        //arrange
+        // report-MutationsTest.json has no killed mutants on its own, testreport.json gives the operators results
+        String[] inputFiles = { getResourcePath("report-MutationsTest.json"), getResourcePath("testreport.json") };
+        SolverSettings solverSettings = SolverSettings.of("SAT");
+        long memoryBudget = Runtime.getRuntime().maxMemory() / 2;
+        Path sequentialOutput = directory.resolve("sequential.txt");
+        Path parallelOutput = directory.resolve("parallel.txt");
+
+        //act
+        RunCommand.run(inputFiles, sequentialOutput.toString(), solverSettings, false, false, 1, 1, memoryBudget, null, null, false, false);
+        RunCommand.run(inputFiles, parallelOutput.toString(), solverSettings, false, false, 4, 2, memoryBudget, null, null, false, false);
+
+        //assert
+        List<String> sequential = Files.readAllLines(sequentialOutput);
+        List<String> parallel = Files.readAllLines(parallelOutput);
+        assertFalse(sequential.isEmpty());
+        assertEquals(sequential, parallel);
+    }
+}
@@ -0,0 +1,49 @@
+package callisto.logic;
+
+import callisto.model.BitMatrix;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ApproximateMinimalizerTest {
+    @Test
+    void TestPrunesRedundantGreedyChoice() {
+        //arrange
+        boolean[][] matrix = {
+            { true, true, true, false, false, false },
+            { false, false, false, true, true, true },
+            { true, true, false, true, true, false }
+        };
+
+        //act
+        MinimalizationResult result = ApproximateMinimalizer.minimalize(BitMatrix.of(matrix));
+
+        //assert
+        assertArrayEquals(new int[] { 2 }, result.rowsToRemove());
+        assertTrue(result.lowerBound() <= 2);
+    }
+
+    @Test
+    void TestLowerBound() {
+        //arrange
+        boolean[][] matrix = {
+            { true, true, false, false, false, false, false },
+            { true, false, true, false, false, false, false },
+            { false, true, true, false, false, false, false },
+            { false, false, false, true, true, true, false },
+            { false, false, false, true, true, false, true },
+            { false, false, false, true, false, true, true },
+            { false, false, false, false, true, true, true }
+        };
+
+        //act
+        MinimalizationResult result = Minimalizer.minimalizeWithBound(BitMatrix.of(matrix), new SolverSettings("SAT", 0, 0, true));
+
+        //assert
+        int size = matrix.length - result.rowsToRemove().length;
+        // every pair of mutants in a component shares at most one test, so at least 2 + 2 tests are needed
+        assertEquals(4, size);
+        assertTrue(result.lowerBound() >= 3);
+        assertTrue(result.lowerBound() <= size);
+    }
+}
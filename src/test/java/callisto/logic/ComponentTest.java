@@ -0,0 +1,51 @@
+package callisto.logic;
+
+import callisto.model.BitMatrix;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ComponentTest {
+    @Test
+    void TestFindComponents() {
+        //arrange
+        boolean[][] matrix = {
+            { true, false, false, false, false },
+            { false, false, true, false, false },
+            { true, true, false, false, false },
+            { false, false, true, true, false },
+            { false, false, false, false, false },
+        };
+
+        //act
+        Component[] components = Component.find(BitMatrix.of(matrix));
+
+        //assert
+        assertEquals(3, components.length);
+        assertArrayEquals(new int[] { 0, 2 }, components[0].tests());
+        assertArrayEquals(new int[] { 0, 1 }, components[0].mutants());
+        assertArrayEquals(new int[] { 1, 3 }, components[1].tests());
+        assertArrayEquals(new int[] { 2, 3 }, components[1].mutants());
+        assertArrayEquals(new int[] { 4 }, components[2].tests());
+        assertArrayEquals(new int[] {}, components[2].mutants());
+    }
+
+    @Test
+    void TestComponentMatrix() {
+        //arrange
+        boolean[][] matrix = {
+            { true, false, false },
+            { false, true, false },
+            { true, false, true },
+        };
+        Component[] components = Component.find(BitMatrix.of(matrix));
+
+        //act
+        boolean[][] componentMatrix = components[0].getMatrix(BitMatrix.of(matrix)).toArray();
+
+        //assert
+        assertTrue(Arrays.deepEquals(new boolean[][] { { true, false }, { true, true } }, componentMatrix));
+    }
+}
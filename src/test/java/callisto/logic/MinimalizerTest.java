@@ -1,5 +1,6 @@
 package callisto.logic;
 
+import callisto.model.BitMatrix;
 import com.google.ortools.Loader;
 import com.google.ortools.linearsolver.MPConstraint;
 import com.google.ortools.linearsolver.MPObjective;
@@ -208,6 +209,26 @@ public class MinimalizerTest {
         assertEquals(3, redundantRows.length);
     }
 
+    @Test
+    void TestCpSat() {
+        //arrange
+        boolean[][] matrix = {
+            { true, true, false, false, false, false, false },
+            { true, false, true, false, false, false, false },
+            { false, true, true, false, false, false, false },
+            { false, false, false, true, true, true, false },
+            { false, false, false, true, true, false, true },
+            { false, false, false, true, false, true, true },
+            { false, false, false, false, true, true, true }
+        };
+
+        //act
+        int[] redundantRows = Minimalizer.minimalize(BitMatrix.of(matrix), new SolverSettings(SolverSettings.CP_SAT, 2, 10, false));
+
+        //assert
+        assertEquals(3, redundantRows.length);
+    }
+
     @Test
     void simpleLPProblemTest() {
         //act
@@ -0,0 +1,80 @@
+package callisto.logic;
+
+import callisto.model.BitMatrix;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PresolverTest {
+    @Test
+    void TestEssentialTests() {
+        //arrange
+        boolean[][] matrix = {
+            { true, true, true, false },
+            { false, true, false, true },
+            { false, false, true, true }
+        };
+
+        //act
+        Presolver.PresolveResult result = Presolver.presolve(BitMatrix.of(matrix));
+
+        //assert
+        assertArrayEquals(new int[] { 0, 1 }, result.fixedTests());
+        assertArrayEquals(new int[] {}, result.coreTests());
+        assertArrayEquals(new int[] { 2 }, result.getRowsToRemove(new int[] {}, 3));
+    }
+
+    @Test
+    void TestDominatedTestsAndRedundantMutants() {
+        //arrange
+        //test 3 is dominated by test 0, mutant 3 is redundant because of mutant 0
+        boolean[][] matrix = {
+            { true, true, false, true },
+            { true, false, true, true },
+            { false, true, true, true },
+            { true, false, false, true },
+        };
+
+        //act
+        Presolver.PresolveResult result = Presolver.presolve(BitMatrix.of(matrix));
+
+        //assert
+        assertArrayEquals(new int[] {}, result.fixedTests());
+        assertArrayEquals(new int[] { 0, 1, 2 }, result.coreTests());
+        assertArrayEquals(new int[] { 0, 1, 2 }, result.coreMutants());
+    }
+
+    @Test
+    void TestMapCoreSolutionBack() {
+        //arrange
+        boolean[][] matrix = {
+            { true, true, false, true },
+            { true, false, true, true },
+            { false, true, true, true },
+            { true, false, false, true },
+        };
+        Presolver.PresolveResult result = Presolver.presolve(BitMatrix.of(matrix));
+
+        //act
+        int[] rowsToRemove = result.getRowsToRemove(new int[] { 1 }, 4);
+
+        //assert
+        assertArrayEquals(new int[] { 1, 3 }, rowsToRemove);
+    }
+
+    @Test
+    void TestEquivalentMutantsIgnored() {
+        //arrange
+        boolean[][] matrix = {
+            { true, false },
+            { false, false },
+        };
+
+        //act
+        Presolver.PresolveResult result = Presolver.presolve(BitMatrix.of(matrix));
+
+        //assert
+        assertArrayEquals(new int[] { 0 }, result.fixedTests());
+        assertArrayEquals(new int[] { 1 }, result.getRowsToRemove(new int[] {}, 2));
+    }
+}
@@ -0,0 +1,47 @@
+package callisto.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BitMatrixTest {
+    @Test
+    void TestRowsSpanningMultipleWords() {
+        //arrange
+        boolean[][] matrix = new boolean[3][130];
+        matrix[0][0] = true;
+        matrix[0][64] = true;
+        matrix[0][129] = true;
+        matrix[1][63] = true;
+        matrix[2][0] = true;
+        matrix[2][64] = true;
+        matrix[2][129] = true;
+
+        //act
+        BitMatrix bitMatrix = BitMatrix.of(matrix);
+
+        //assert
+        assertArrayEquals(new int[] { 0, 64, 129 }, bitMatrix.getRow(0));
+        assertArrayEquals(new int[] { 0, 2 }, bitMatrix.getColumn(129));
+        assertEquals(3, bitMatrix.countRow(0));
+        assertTrue(bitMatrix.rowsEqual(0, 2));
+        assertFalse(bitMatrix.rowsEqual(0, 1));
+        assertTrue(Arrays.deepEquals(matrix, bitMatrix.toArray()));
+    }
+
+    @Test
+    void TestExtractColumnsAcrossWords() {
+        //arrange
+        boolean[][] matrix = new boolean[2][100];
+        matrix[0][70] = true;
+        matrix[1][3] = true;
+
+        //act
+        BitMatrix extracted = BitMatrix.of(matrix).extractColumns(new int[] { 70, 3 });
+
+        //assert
+        assertTrue(Arrays.deepEquals(new boolean[][] { { false, true }, { true, false } }, extracted.toArray()));
+    }
+}
@@ -0,0 +1,87 @@
+package callisto.model;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.Formatter;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DeductionCacheTest {
+    private static final DeductionCache.Deducer DEDUCER = (mutator, original, replacement, diagnostics) -> {
+        diagnostics.format("deduced %s\n", original);
+        return mutator + "Deduced";
+    };
+
+    @Test
+    public void TestHitRepeatsDiagnostics() {
+        //arrange
+        DeductionCache cache = new DeductionCache();
+        Formatter first = new Formatter(new StringBuilder());
+        Formatter second = new Formatter(new StringBuilder());
+
+        //act
+        String firstName = cache.deduce("EqualityOperator", "a === b", "a !== b", first, DEDUCER);
+        String secondName = cache.deduce("EqualityOperator", "a === b", "a !== b", second, DEDUCER);
+
+        //assert
+        assertEquals("EqualityOperatorDeduced", firstName);
+        assertEquals(firstName, secondName);
+        assertEquals(first.toString(), second.toString());
+        assertEquals(1, cache.getHits());
+        assertEquals(1, cache.getMisses());
+    }
+
+    @Test
+    public void TestHitIgnoresSpacing() {
+        //arrange
+        DeductionCache cache = new DeductionCache();
+        DeductionCache.Deducer deducer = (mutator, original, replacement, diagnostics) -> mutator + "Deduced";
+
+        //act
+        cache.deduce("EqualityOperator", "a === b", "a !== b", new Formatter(new StringBuilder()), deducer);
+        String name = cache.deduce("EqualityOperator", "(a)===b", "a !== b", new Formatter(new StringBuilder()), (mutator, original, replacement, diagnostics) -> fail());
+
+        //assert
+        assertEquals("EqualityOperatorDeduced", name);
+        assertEquals(1, cache.getHits());
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    public void TestDiagnosticsQuoteCodeAsWritten() {
+        //arrange
+        DeductionCache cache = new DeductionCache();
+        Formatter first = new Formatter(new StringBuilder());
+        Formatter second = new Formatter(new StringBuilder());
+
+        //act
+        cache.deduce("EqualityOperator", "a === b", "a !== b", first, DEDUCER);
+        cache.deduce("EqualityOperator", "a===b", "a !== b", second, DEDUCER);
+
+        //assert
+        assertEquals("deduced a === b\n", first.toString());
+        assertEquals("deduced a===b\n", second.toString());
+        assertEquals(2, cache.getMisses());
+    }
+
+    @Test
+    public void TestSaveAndLoad(@TempDir Path directory) {
+        //arrange
+        DeductionCache cache = new DeductionCache();
+        cache.deduce("LogicalOperator", "a && b", "a || b", new Formatter(new StringBuilder()), DEDUCER);
+        Path file = directory.resolve("deductions.bin");
+
+        //act
+        cache.save(file);
+        DeductionCache loaded = new DeductionCache();
+        boolean result = loaded.load(file);
+        String name = loaded.deduce("LogicalOperator", "a && b", "a || b", new Formatter(new StringBuilder()), (mutator, original, replacement, diagnostics) -> fail());
+
+        //assert
+        assertTrue(result);
+        assertEquals("LogicalOperatorDeduced", name);
+        assertEquals(1, loaded.getHits());
+    }
+}
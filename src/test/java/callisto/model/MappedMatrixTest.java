@@ -0,0 +1,84 @@
+package callisto.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MappedMatrixTest {
+    @Test
+    void TestSameAsBitMatrix() {
+        //arrange
+        boolean[][] matrix = new boolean[3][130];
+        matrix[0][0] = true;
+        matrix[0][64] = true;
+        matrix[0][129] = true;
+        matrix[1][63] = true;
+        matrix[2][0] = true;
+        matrix[2][64] = true;
+        matrix[2][129] = true;
+        BitMatrix bitMatrix = BitMatrix.of(matrix);
+
+        //act
+        MappedMatrix mappedMatrix = MappedMatrix.of(matrix);
+
+        //assert
+        assertArrayEquals(bitMatrix.getRow(0), mappedMatrix.getRow(0));
+        assertArrayEquals(bitMatrix.getColumn(129), mappedMatrix.getColumn(129));
+        assertTrue(mappedMatrix.rowsEqual(0, 2));
+        assertFalse(mappedMatrix.rowsEqual(0, 1));
+        assertEquals(mappedMatrix.rowHash(0), mappedMatrix.rowHash(2));
+        assertTrue(Arrays.deepEquals(matrix, mappedMatrix.toArray()));
+    }
+
+    @Test
+    void TestRemoveRowsAndExtractColumns() {
+        //arrange
+        boolean[][] matrix = new boolean[3][100];
+        matrix[0][70] = true;
+        matrix[1][3] = true;
+        matrix[2][99] = true;
+
+        //act
+        MappedMatrix result = MappedMatrix.of(matrix).removeRows(new int[] { 1 }).extractColumns(new int[] { 99, 70, 3 });
+
+        //assert
+        assertTrue(Arrays.deepEquals(new boolean[][] { { false, true, false }, { false, false, true } }, result.toArray()));
+    }
+
+    @Test
+    void TestFromCells() {
+        //arrange
+        int[] cells = { 0, 70, 2, 3, 2, 70, 0, 70 };
+        boolean[][] expected = new boolean[3][100];
+        expected[0][70] = true;
+        expected[2][3] = true;
+        expected[2][70] = true;
+
+        //act
+        MappedMatrix result = MappedMatrix.fromCells(cells, cells.length, 3, 100);
+
+        //assert
+        assertTrue(Arrays.deepEquals(expected, result.toArray()));
+        assertArrayEquals(new int[] { 0, 2 }, result.getColumn(70));
+        assertEquals(1, result.countColumn(3));
+    }
+
+    @Test
+    void TestColumnsAfterRemoveRows() {
+        //arrange
+        boolean[][] matrix = new boolean[70][2];
+        matrix[0][1] = true;
+        matrix[65][1] = true;
+        matrix[69][0] = true;
+
+        //act
+        MappedMatrix result = MappedMatrix.of(matrix).removeRows(new int[] { 0, 1 });
+
+        //assert
+        assertArrayEquals(new int[] { 63 }, result.getColumn(1));
+        assertArrayEquals(new int[] { 67 }, result.getColumn(0));
+        assertEquals(1, result.countColumn(1));
+    }
+}
@@ -0,0 +1,59 @@
+package callisto.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MatrixViewTest {
+    @Test
+    void TestSameAsCopies() {
+        //arrange
+        Random random = new Random(42);
+        boolean[][] matrix = new boolean[40][150];
+        for (boolean[] row : matrix) {
+            for (int c = 0; c < row.length; c++) {
+                row[c] = random.nextInt(5) == 0;
+            }
+        }
+        SparseMatrix sparseMatrix = SparseMatrix.of(matrix);
+        int[] columns = { 149, 3, 64, 70, 0, 128, 90, 12 };
+        int[] rowsToRemove = { 0, 7, 8, 39 };
+
+        //act
+        BinaryMatrix copy = sparseMatrix.extractColumns(columns).removeRows(rowsToRemove).keepRows(new int[] { 1, 4, 5, 20 });
+        BinaryMatrix view = MatrixView.of(sparseMatrix).extractColumns(columns).removeRows(rowsToRemove).keepRows(new int[] { 1, 4, 5, 20 });
+
+        //assert
+        assertInstanceOf(MatrixView.class, view);
+        assertTrue(Arrays.deepEquals(copy.toArray(), view.toArray()));
+        for (int c = 0; c < columns.length; c++) {
+            assertArrayEquals(copy.getColumn(c), view.getColumn(c));
+            assertEquals(copy.countColumn(c), view.countColumn(c));
+        }
+        for (int r = 0; r < view.getNumberOfRows(); r++) {
+            assertArrayEquals(copy.getRow(r), view.getRow(r));
+            assertEquals(copy.countRow(r), view.countRow(r));
+        }
+    }
+
+    @Test
+    void TestEqualRowsHaveEqualHashes() {
+        //arrange
+        BitMatrix bitMatrix = BitMatrix.of(new boolean[][] {
+            { true, false, true },
+            { true, true, true },
+            { false, false, true },
+        });
+
+        //act
+        MatrixView view = MatrixView.of(bitMatrix).extractColumns(new int[] { 2, 0 });
+
+        //assert
+        assertTrue(view.rowsEqual(0, 1));
+        assertFalse(view.rowsEqual(0, 2));
+        assertEquals(view.rowHash(0), view.rowHash(1));
+    }
+}
@@ -76,6 +76,28 @@ public class MutationMatricesTest {
         assertArrayEquals(new int[] { 0, 3, 4, 6 }, covered);
     }
 
+    @Test
+    void TestDerivedCounts() {
+        //arrange
+        MutationMatrices matrices = new MutationMatrices(new boolean[][] {
+            { true, false, false },
+            { true, true, false },
+        }, new boolean[][] {
+            { true, false, true },
+            { true, true, true },
+        });
+
+        //assert
+        assertEquals(2, matrices.countKilledMutants());
+        assertFalse(matrices.isKilled(2));
+        assertEquals(2, matrices.countKillersOfMutant(0));
+        assertEquals(2, matrices.countCoverersOfMutant(2));
+        assertEquals(2, matrices.countMutantsKilledByTest(1));
+        assertEquals(1, matrices.countNonEquivalentMutantsCoveredByTest(0));
+        assertEquals(2, matrices.countNonEquivalentMutantsCoveredByTest(1));
+        assertArrayEquals(new int[] { 2 }, matrices.getEquivalentMutants());
+    }
+
     @Test
     void TestIsMutantDifficultToReach() {
         //arrange
@@ -184,6 +206,28 @@ public class MutationMatricesTest {
         assertTrue(Arrays.deepEquals(expectedKillMatrix, reducedMatrices.getKillMatrix()));
     }
 
+    @Test
+    void TestFindDuplicateTests() {
+        //arrange
+        boolean[][] smallKillMatrix = {
+            { false, true, false },
+            { true, false, false },
+            { false, false, true },
+            { true, false, false },
+            { false, false, true },
+            { true, false, false },
+            { false, false, false },
+        };
+        MutationMatrices smallMatrices = new MutationMatrices(smallKillMatrix, smallKillMatrix);
+
+        //act
+        MutationMatrices.DuplicateTests duplicateTests = smallMatrices.findDuplicateTests();
+
+        //assert
+        assertArrayEquals(new int[] { 3, 4, 5 }, duplicateTests.tests());
+        assertEquals(2, duplicateTests.groups());
+    }
+
     @Test
     void TestIsKilled() {
         //assert
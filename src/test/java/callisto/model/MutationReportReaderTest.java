@@ -0,0 +1,146 @@
+package callisto.model;
+
+import callisto.Callisto;
+import com.fasterxml.jackson.core.JsonFactory;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.URL;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MutationReportReaderTest {
+    private static String getResourcePath(String name) {
+        URL url = MutationReportReaderTest.class.getClassLoader().getResource(name);
+        return url.getPath();
+    }
+
+    @Test
+    void TestRead() {
+        //act
+        MutationReport report = MutationReportReader.read(getResourcePath("testreport.json"));
+
+        //assert
+        assertEquals(27, report.getMutants().length);
+        assertEquals(24, report.getTests().length);
+    }
+
+    @Test
+    void TestMatricesEqualParsedReport() {
+        //arrange
+        MutationReport parsedReport = Callisto.parseReport(getResourcePath("testreport.json"));
+        MutationMatrices expected = parsedReport.getMatrices();
+
+        //act
+        MutationMatrices matrices = MutationReportReader.read(getResourcePath("testreport.json")).getMatrices();
+
+        //assert
+        assertTrue(Arrays.deepEquals(expected.getKillMatrix(), matrices.getKillMatrix()));
+        assertTrue(Arrays.deepEquals(expected.getCoverageMatrix(), matrices.getCoverageMatrix()));
+    }
+
+    @Test
+    void TestMappedMatricesEqualHeapMatrices() {
+        //arrange
+        MutationMatrices expected = MutationReportReader.read(getResourcePath("testreport.json")).getMatrices();
+
+        //act
+        MutationMatrices matrices = MutationReportReader.read(getResourcePath("testreport.json"), true).getMatrices();
+
+        //assert
+        assertInstanceOf(MappedMatrix.class, matrices.getKills());
+        assertTrue(Arrays.deepEquals(expected.getKillMatrix(), matrices.getKillMatrix()));
+        assertTrue(Arrays.deepEquals(expected.getCoverageMatrix(), matrices.getCoverageMatrix()));
+        for (int mutant = 0; mutant < expected.getNumberOfMutants(); mutant++) {
+            assertArrayEquals(expected.getCoverage().getColumn(mutant), matrices.getCoverage().getColumn(mutant));
+        }
+    }
+
+    @Test
+    void TestOperatorsDeducedDuringRead() {
+        //arrange
+        MutationReport parsedReport = Callisto.parseReport(getResourcePath("report-MutationsTest.json"));
+        parsedReport.deduceMutationOperators();
+
+        //act
+        MutationReport report = MutationReportReader.read(getResourcePath("report-MutationsTest.json"));
+
+        //assert
+        assertArrayEquals(parsedReport.getUsedMutators(), report.getUsedMutators());
+        for (String mutator : report.getUsedMutators()) {
+            assertEquals(parsedReport.countTestExecutions(mutator), report.countTestExecutions(mutator));
+            assertEquals(parsedReport.getMutantsByMutatorName(mutator, true, false).length, report.getMutantsByMutatorName(mutator, true, false).length);
+        }
+    }
+
+    @Test
+    void TestMutantTableEqualsParsedReport() {
+        //arrange
+        MutationReport parsedReport = Callisto.parseReport(getResourcePath("testreport.json"));
+        parsedReport.deduceMutationOperators();
+
+        //act
+        MutantTable table = MutationReportReader.read(getResourcePath("testreport.json")).getMutantTable();
+
+        //assert
+        assertEquals(parsedReport.getMutants().length, table.size());
+        for (MutationReport.Mutant mutant : parsedReport.getMutants()) {
+            int column = parsedReport.getMutantIds().indexOf(mutant.getId());
+            assertEquals(mutant.getMutatorName(), table.getOperator(column));
+            assertEquals(mutant.getStatus(), table.getStatus(column));
+            assertEquals(mutant.getStatic(), table.isStatic(column));
+            assertEquals(mutant.getTestsCompleted().intValue(), table.getTestsCompleted(column));
+        }
+    }
+
+    @Test
+    void TestSparseAndStringIds() throws IOException {
+        //arrange
+        String json = """
+            {"files": {"a.js": {"mutants": [
+                {"id": "m-7", "mutatorName": "BlockStatement", "status": "Killed", "killedBy": ["t-b"], "coveredBy": ["t-a", "t-b"]},
+                {"id": "1000", "mutatorName": "BlockStatement", "status": "Survived", "coveredBy": ["t-a"]}
+            ]}},
+            "testFiles": {"a.spec.js": {"tests": [{"id": "t-a", "name": "a"}, {"id": "t-b", "name": "b"}]}}}
+            """;
+
+        //act
+        MutationReport report = MutationReportReader.read(new JsonFactory().createParser(json));
+        MutationMatrices matrices = report.getMatrices();
+
+        //assert
+        assertEquals(2, matrices.getNumberOfMutants());
+        assertEquals(2, matrices.getNumberOfTests());
+        int mutant = report.getMutantIds().indexOf("m-7");
+        int test = report.getTestIds().indexOf("t-b");
+        assertArrayEquals(new int[] { test }, matrices.getKillersOfMutant(mutant));
+        assertEquals("1000", report.getMutantIds().getId(1 - mutant));
+    }
+
+    @Test
+    void TestMutantTableFollowsRenumberedIds() throws IOException {
+        //arrange
+        String json = """
+            {"files": {"a.js": {"mutants": [
+                {"id": "2", "mutatorName": "OptionalChaining", "status": "Survived", "static": true, "testsCompleted": 3},
+                {"id": "0", "mutatorName": "BlockStatement", "status": "Killed", "killedBy": ["t"], "testsCompleted": 1},
+                {"id": "1", "mutatorName": "ArrowFunction", "status": "NoCoverage"}
+            ]}}}
+            """;
+
+        //act
+        MutantTable table = MutationReportReader.read(new JsonFactory().createParser(json)).getMutantTable();
+
+        //assert
+        assertArrayEquals(new String[] { "ArrowFunction", "BlockStatement", "OptionalChaining" }, table.getOperators());
+        assertEquals("BlockStatement", table.getOperator(0));
+        assertTrue(table.isKilled(0));
+        assertEquals(1, table.getTestsCompleted(0));
+        assertEquals(MutationReport.Mutant.Status.NO_COVERAGE, table.getStatus(1));
+        assertEquals(-1, table.getTestsCompleted(1));
+        assertEquals("OptionalChaining", table.getOperator(2));
+        assertTrue(table.isStatic(2));
+        assertFalse(table.isStatic(0));
+    }
+}
@@ -2,9 +2,14 @@ package callisto.model;
 
 import callisto.Callisto;
 import callisto.model.MutationReport.Mutant;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.io.File;
+import java.io.IOException;
 import java.net.URL;
 import java.util.Arrays;
 import java.util.List;
@@ -77,6 +82,70 @@ public class MutationReportTest {
         assertEquals(3, result.length);
     }
 
+    @Test
+    public void TestGetMutantColumnsByMutatorName() {
+        //assemble
+        String mutator = "EqualityOperator";
+        int[] expected = Arrays.stream(testReport.getMutants())
+                .filter(mutant -> mutant.getMutatorName().equals(mutator) && mutant.getStatus() == Mutant.Status.KILLED && !mutant.getStatic())
+                .mapToInt(mutant -> Integer.parseInt(mutant.getId()))
+                .sorted()
+                .toArray();
+
+        //act
+        int[] result = testReport.getMutantColumnsByMutatorName(mutator, true, false);
+
+        //assert
+        assertArrayEquals(expected, result);
+        assertEquals(0, testReport.getMutantColumnsByMutatorName("NoSuchOperator", false, true).length);
+    }
+
+    @Test
+    public void TestKilledByIndices() throws JsonProcessingException {
+        //assemble
+        Mutant mutant = Arrays.stream(testReport.getMutants()).filter(m -> m.getKilledByIndices() != null && m.getKilledByIndices().length > 0).findFirst().orElseThrow();
+
+        //act
+        List<String> killedBy = mutant.getKilledBy();
+        String json = new ObjectMapper().writeValueAsString(mutant);
+
+        //assert
+        assertEquals(mutant.getKilledByIndices().length, killedBy.size());
+        for (int i = 0; i < killedBy.size(); i++) {
+            assertEquals(mutant.getKilledByIndices()[i], testReport.getTestIds().indexOf(killedBy.get(i)));
+        }
+        assertTrue(json.contains("\"killedBy\":[\"" + killedBy.get(0) + "\""));
+    }
+
+    @Test
+    public void TestReadWithoutTestIdsAttribute() throws IOException {
+        //assemble
+        URL testReportURL = MutationReportTest.class.getClassLoader().getResource("testreport.json");
+        ObjectMapper objectMapper = new ObjectMapper().configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
+        //act
+        MutationReport report = objectMapper.readValue(new File(testReportURL.getPath()), MutationReport.class);
+        report.initialize();
+
+        //assert
+        assertEquals(testReport.getMutants()[0].getKilledBy(), report.getMutants()[0].getKilledBy());
+        assertTrue(Arrays.deepEquals(testReport.getMatrices().getKillMatrix(), report.getMatrices().getKillMatrix()));
+        assertTrue(Arrays.deepEquals(testReport.getMatrices().getCoverageMatrix(), report.getMatrices().getCoverageMatrix()));
+    }
+
+    @Test
+    public void TestSetKilledBy() {
+        //assemble
+        Mutant mutant = new Mutant();
+
+        //act
+        mutant.setKilledBy(List.of("b", "a"));
+
+        //assert
+        assertEquals(List.of("b", "a"), mutant.getKilledBy());
+        assertNull(mutant.getCoveredBy());
+    }
+
     @Test
     public void TestGetMatrices() {
         //assemble
@@ -104,6 +173,26 @@ public class MutationReportTest {
         }
     }
 
+    @Test
+    public void TestProjection() {
+        //arrange
+        URL mutationsTestReportURL = MutationReportTest.class.getClassLoader().getResource("report-MutationsTest.json");
+        MutationReport fullReport = Callisto.parseReport(mutationsTestReportURL.getPath());
+        fullReport.deduceMutationOperators();
+
+        //act
+        MutationReport projectedReport = Callisto.parseReport(mutationsTestReportURL.getPath(), true);
+        // deducing again keeps the operators that were deduced while reading
+        projectedReport.deduceMutationOperators();
+
+        //assert
+        assertArrayEquals(fullReport.getUsedMutators(), projectedReport.getUsedMutators());
+        assertTrue(Arrays.deepEquals(fullReport.getMatrices().getKillMatrix(), projectedReport.getMatrices().getKillMatrix()));
+        assertNull(projectedReport.getConfig());
+        assertTrue(projectedReport.getFiles().values().stream().allMatch(file -> file.getSource() == null));
+        assertTrue(Arrays.stream(projectedReport.getMutants()).allMatch(mutant -> mutant.getDescription() == null));
+    }
+
     @Test
     public void TestDeduceMutationOperators() {
         //arrange
@@ -0,0 +1,92 @@
+package callisto.model;
+
+import callisto.Callisto;
+import com.fasterxml.jackson.core.JsonFactory;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.net.URL;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ReportCacheTest {
+    private static String getReportPath() {
+        URL testReportURL = ReportCacheTest.class.getClassLoader().getResource("testreport.json");
+        return testReportURL.getPath();
+    }
+
+    @Test
+    public void TestWriteAndRead(@TempDir Path directory) throws IOException {
+        //arrange
+        String reportPath = getReportPath();
+        MutationReport report = Callisto.parseReport(reportPath);
+        byte[] hash = ReportCache.hash(reportPath);
+        Path cachePath = directory.resolve("testreport.json" + ".callisto");
+
+        //act
+        ReportCache.write(cachePath, hash, report);
+        MutationReport result = ReportCache.read(cachePath, hash);
+
+        //assert
+        assertNotNull(result);
+        assertEquals(report.getMutants().length, result.getMutants().length);
+        assertEquals(report.getTests().length, result.getTests().length);
+        assertArrayEquals(report.getUsedMutators(), result.getUsedMutators());
+        assertArrayEquals(report.getMatrices().getKills().toArray(), result.getMatrices().getKills().toArray());
+        assertArrayEquals(report.getMatrices().getCoverage().toArray(), result.getMatrices().getCoverage().toArray());
+        assertArrayEquals(report.getMatrices().getEquivalentMutants(), result.getMatrices().getEquivalentMutants());
+    }
+
+    @Test
+    public void TestReadWithOtherHash(@TempDir Path directory) throws IOException {
+        //arrange
+        String reportPath = getReportPath();
+        byte[] hash = ReportCache.hash(reportPath);
+        Path cachePath = directory.resolve("testreport.json" + ".callisto");
+        ReportCache.write(cachePath, hash, Callisto.parseReport(reportPath));
+        hash[0]++;
+
+        //act
+        MutationReport result = ReportCache.read(cachePath, hash);
+
+        //assert
+        assertNull(result);
+    }
+
+    @Test
+    public void TestKeepsDeductionDiagnostics(@TempDir Path directory) throws IOException {
+        //arrange
+        String json = """
+            {"files": {"a.js": {"source": "a + b", "mutants": [
+                {"id": "0", "mutatorName": "NoSuchMutator", "replacement": "a - b", "status": "Killed",
+                 "location": {"start": {"line": 1, "column": 1}, "end": {"line": 1, "column": 6}}}
+            ]}}}
+            """;
+        MutationReport report = MutationReportReader.read(new JsonFactory().createParser(json));
+        byte[] hash = { 1, 2, 3 };
+        Path cachePath = directory.resolve("report.json" + ".callisto");
+
+        //act
+        ReportCache.write(cachePath, hash, report);
+        MutationReport result = ReportCache.read(cachePath, hash);
+
+        //assert
+        assertFalse(report.getDeductionDiagnostics().isEmpty());
+        assertEquals(report.getDeductionDiagnostics(), result.getDeductionDiagnostics());
+    }
+
+    @Test
+    public void TestCachePathInDirectory(@TempDir Path directory) {
+        //act
+        Path first = ReportCache.getCachePath(directory, "first/report.json");
+        Path second = ReportCache.getCachePath(directory, "second/report.json");
+
+        //assert
+        assertEquals(directory, first.getParent());
+        assertTrue(first.getFileName().toString().startsWith("report.json-"));
+        assertNotEquals(first, second);
+        assertEquals(first, ReportCache.getCachePath(directory, "first/../first/report.json"));
+    }
+}
@@ -0,0 +1,98 @@
+package callisto.model;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ReportMergerTest {
+    @Test
+    void TestMerge(@TempDir Path directory) throws IOException {
+        //arrange
+        Path first = directory.resolve("a.json");
+        Files.writeString(first, """
+            {"schemaVersion": "2", "thresholds": {"high": 80, "low": 60},
+            "files": {"a.js": {"language": "javascript", "source": "a", "mutants": [
+                {"id": "0", "mutatorName": "BlockStatement", "status": "Killed", "killedBy": ["t1"], "coveredBy": ["t1", "t2"], "location": {"start": {"line": 1, "column": 1}, "end": {"line": 1, "column": 2}}}
+            ]}},
+            "testFiles": {"a.spec.js": {"tests": [{"id": "t1", "name": "shared"}, {"id": "t2", "name": "only a"}]}}}
+            """);
+        Path second = directory.resolve("b.json");
+        Files.writeString(second, """
+            {"schemaVersion": "2", "thresholds": {"high": 80, "low": 60},
+            "testFiles": {"a.spec.js": {"tests": [{"id": "0", "name": "shared"}]}},
+            "files": {"b.js": {"language": "javascript", "source": "b", "mutants": [
+                {"id": "0", "mutatorName": "BlockStatement", "status": "Killed", "killedBy": ["0"], "coveredBy": ["0"], "location": {"start": {"line": 1, "column": 1}, "end": {"line": 1, "column": 2}}},
+                {"id": "1", "mutatorName": "BlockStatement", "status": "Survived", "coveredBy": ["undefined"], "location": {"start": {"line": 1, "column": 1}, "end": {"line": 1, "column": 2}}}
+            ]}}}
+            """);
+        Path output = directory.resolve("merged.json");
+
+        //act
+        ReportMerger.Summary summary = ReportMerger.merge(new String[] { first.toString(), second.toString() }, output.toString());
+        MutationReport report = MutationReportReader.read(output.toString());
+
+        //assert
+        assertEquals(new ReportMerger.Summary(3, 3, 1), summary);
+        assertEquals(3, report.getMutants().length);
+        assertEquals(2, report.getTests().length);
+        assertTrue(Files.readString(output).contains("\"thresholds\":{\"high\":80,\"low\":60}"));
+        MutationMatrices matrices = report.getMatrices();
+        int shared = report.getTestIds().indexOf("0");
+        assertArrayEquals(new int[] { shared }, matrices.getKillersOfMutant(report.getMutantIds().indexOf("0")));
+        assertArrayEquals(new int[] { shared }, matrices.getKillersOfMutant(report.getMutantIds().indexOf("1")));
+        assertArrayEquals(new int[] { report.getTestIds().indexOf("2") }, matrices.getCoverersOfMutant(report.getMutantIds().indexOf("2")));
+    }
+
+    @Test
+    void TestMergeKeepsEqualTestsOfOneReport(@TempDir Path directory) throws IOException {
+        //arrange
+        Path first = directory.resolve("a.json");
+        Files.writeString(first, """
+            {"files": {"a.js": {"mutants": [
+                {"id": "1", "mutatorName": "BlockStatement", "status": "Killed", "killedBy": ["t1"], "coveredBy": ["t1", "t2"]},
+                {"id": "2", "mutatorName": "BlockStatement", "status": "Killed", "killedBy": ["t2"], "coveredBy": ["t2", "t2"]}
+            ]}},
+            "testFiles": {"a.spec.js": {"tests": [{"id": "t1", "name": "adds"}, {"id": "t2", "name": "adds"}, {"name": "no id"}]}}}
+            """);
+        Path second = directory.resolve("b.json");
+        Files.writeString(second, """
+            {"files": {"b.js": {"mutants": [
+                {"id": "1", "mutatorName": "BlockStatement", "status": "Killed", "killedBy": ["x"], "coveredBy": ["x"]}
+            ]}},
+            "testFiles": {"a.spec.js": {"tests": [{"id": "x", "name": "adds"}]}}}
+            """);
+        Path output = directory.resolve("merged.json");
+
+        //act
+        ReportMerger.Summary summary = ReportMerger.merge(new String[] { first.toString(), second.toString() }, output.toString());
+        MutationReport report = MutationReportReader.read(output.toString());
+
+        //assert
+        assertEquals(new ReportMerger.Summary(3, 3, 1), summary);
+        MutationMatrices matrices = report.getMatrices();
+        int t1 = report.getTestIds().indexOf("0");
+        int t2 = report.getTestIds().indexOf("1");
+        assertArrayEquals(new int[] { t1 }, matrices.getKillersOfMutant(report.getMutantIds().indexOf("0")));
+        assertArrayEquals(new int[] { t2 }, matrices.getKillersOfMutant(report.getMutantIds().indexOf("1")));
+        assertArrayEquals(new int[] { t1 }, matrices.getKillersOfMutant(report.getMutantIds().indexOf("2")));
+        assertTrue(Files.readString(output).contains("\"coveredBy\":[\"1\"]"));
+    }
+
+    @Test
+    void TestMergeSameFileTwice(@TempDir Path directory) throws IOException {
+        //arrange
+        Path input = directory.resolve("a.json");
+        Files.writeString(input, """
+            {"files": {"a.js": {"mutants": []}}}
+            """);
+        String[] inputFiles = { input.toString(), input.toString() };
+
+        //assert
+        assertThrows(RuntimeException.class, () -> ReportMerger.merge(inputFiles, directory.resolve("merged.json").toString()));
+    }
+}
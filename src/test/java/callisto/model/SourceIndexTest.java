@@ -0,0 +1,48 @@
+package callisto.model;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SourceIndexTest {
+    @Test
+    public void TestFindSingleLine() {
+        //arrange
+        SourceIndex index = new SourceIndex("let a = 1;\nlet b = a + 2;\n");
+
+        //act
+        CharSequence code = index.find(location(2, 9, 2, 14));
+
+        //assert
+        assertEquals("a + 2", code.toString());
+        assertEquals('+', code.charAt(2));
+    }
+
+    @Test
+    public void TestFindMultiLineWithoutLineBreaks() {
+        //arrange
+        SourceIndex index = new SourceIndex("if (a &&\r\n    b) {\r\n}");
+
+        //act
+        CharSequence code = index.find(location(1, 5, 2, 6));
+
+        //assert
+        assertEquals("a &&    b", code.toString());
+        assertEquals(9, code.length());
+        assertEquals('b', code.charAt(8));
+    }
+
+    private static MutationReport.Location location(int startLine, int startColumn, int endLine, int endColumn) {
+        MutationReport.Location location = new MutationReport.Location();
+        location.setStart(position(startLine, startColumn));
+        location.setEnd(position(endLine, endColumn));
+        return location;
+    }
+
+    private static MutationReport.Position position(int line, int column) {
+        MutationReport.Position position = new MutationReport.Position();
+        position.setLine(line);
+        position.setColumn(column);
+        return position;
+    }
+}
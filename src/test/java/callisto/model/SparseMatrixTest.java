@@ -0,0 +1,67 @@
+package callisto.model;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SparseMatrixTest {
+    boolean[][] matrix;
+    SparseMatrix sparseMatrix;
+
+    @BeforeEach
+    void Initialize() {
+        matrix = new boolean[][] {
+            { true, false, false, true },
+            { false, false, false, false },
+            { true, true, false, true },
+        };
+        sparseMatrix = SparseMatrix.of(matrix);
+    }
+
+    @Test
+    void TestFromCellsWithDuplicates() {
+        //arrange
+        int[] cells = { 2, 3, 0, 3, 2, 0, 0, 0, 2, 1, 2, 3 };
+
+        //act
+        SparseMatrix result = SparseMatrix.fromCells(cells, cells.length, 3, 4);
+
+        //assert
+        assertEquals(5, result.getNumberOfNonZeros());
+        assertTrue(Arrays.deepEquals(matrix, result.toArray()));
+    }
+
+    @Test
+    void TestRowsAndColumns() {
+        //assert
+        assertArrayEquals(new int[] { 0, 1, 3 }, sparseMatrix.getRow(2));
+        assertArrayEquals(new int[] { 0, 2 }, sparseMatrix.getColumn(3));
+        assertArrayEquals(new int[] {}, sparseMatrix.getColumn(2));
+        assertEquals(0, sparseMatrix.countRow(1));
+        assertTrue(sparseMatrix.get(2, 1));
+        assertFalse(sparseMatrix.get(0, 1));
+    }
+
+    @Test
+    void TestRemoveRows() {
+        //act
+        SparseMatrix result = sparseMatrix.removeRows(new int[] { 0 });
+
+        //assert
+        assertTrue(Arrays.deepEquals(new boolean[][] { matrix[1], matrix[2] }, result.toArray()));
+        assertArrayEquals(new int[] { 1 }, result.getColumn(0));
+    }
+
+    @Test
+    void TestExtractColumns() {
+        //act
+        SparseMatrix result = sparseMatrix.extractColumns(new int[] { 3, 1 });
+
+        //assert
+        assertTrue(Arrays.deepEquals(new boolean[][] { { false, true }, { false, false }, { true, true } }, result.toArray()));
+        assertArrayEquals(new int[] { 0, 2 }, result.getColumn(1));
+    }
+}